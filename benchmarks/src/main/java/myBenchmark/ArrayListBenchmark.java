@@ -0,0 +1,77 @@
+package myBenchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Baseline of {@link ListAdapterBenchmark} on java.util.ArrayList.
+ *
+ * @author Alessandro Marcassa
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class ArrayListBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int size;
+
+    Integer[] values;
+    List<Object> list;
+    int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        values = Fixtures.values(size);
+        list = new ArrayList<Object>();
+        for (int i = 0; i < size; i++)
+            list.add(values[i]);
+    }
+
+    @Benchmark
+    public List<Object> add() {
+        List<Object> target = new ArrayList<Object>();
+        for (int i = 0; i < size; i++)
+            target.add(values[i]);
+        return target;
+    }
+
+    @Benchmark
+    public Object get() {
+        if (++cursor == size)
+            cursor = 0;
+        return list.get(cursor);
+    }
+
+    @Benchmark
+    public int indexOf() {
+        return list.indexOf(values[size / 2]);
+    }
+
+    @Benchmark
+    public Object remove() {
+        Object removed = list.remove(size / 2);
+        list.add(size / 2, removed);
+        return removed;
+    }
+
+    @Benchmark
+    public void iteration(Blackhole bh) {
+        Iterator<Object> it = list.iterator();
+        while (it.hasNext())
+            bh.consume(it.next());
+    }
+
+    @Benchmark
+    public Object subList() {
+        return list.subList(size / 4, size - size / 4).get(0);
+    }
+}
@@ -0,0 +1,101 @@
+package myBenchmark;
+
+import myAdapter.ListAdapter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the capacity policies of {@link myAdapter.ListAdapter}: time of a burst that fills the list
+ * and drains most of it, against the memory the list keeps.
+ * <p>
+ * The footprint benchmark runs the same burst once, and its {@link Footprint} counters report the peak capacity
+ * of the Vector during the burst and the capacity retained after the drain: the difference between the policies
+ * in time is the price of the memory they save.
+ *
+ * @author Alessandro Marcassa
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class CapacityPolicyBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int peak;
+
+    /**
+     * doubling: default Vector; presized: initial capacity equal to the peak; increment: fixed increment of
+     * 1024 slots; factor: growth factor 1.5; shrink: doubling with shrink threshold 0.25; factor+shrink: both
+     */
+    @Param({"doubling", "presized", "increment", "factor", "shrink", "factor+shrink"})
+    String policy;
+
+    Integer[] values;
+
+    /**
+     * Capacities of the list, reported by JMH as secondary results. JMH sums the counters of all the measurement
+     * iterations, so they are only recorded by the footprint benchmark, which has a single one.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long peakCapacity;
+        public long retainedCapacity;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        values = Fixtures.values(peak);
+    }
+
+    ListAdapter newList() {
+        ListAdapter list;
+        if ("presized".equals(policy))
+            list = new ListAdapter(peak);
+        else if ("increment".equals(policy))
+            list = new ListAdapter(10, 1024);
+        else
+            list = new ListAdapter();
+        if (policy.startsWith("factor"))
+            list.setGrowthFactor(1.5f);
+        if (policy.endsWith("shrink"))
+            list.setShrinkThreshold(0.25f);
+        return list;
+    }
+
+    /**
+     * Fills a new list up to the peak, then removes elements from the tail until a sixteenth of them is left,
+     * as a buffer that handles a burst and then goes back to its usual load.
+     */
+    @Benchmark
+    public ListAdapter burst() {
+        ListAdapter list = newList();
+        for (int i = 0; i < peak; i++)
+            list.add(values[i]);
+        for (int i = peak - 1; i >= peak / 16; i--)
+            list.remove(i);
+        return list;
+    }
+
+    /**
+     * Runs a single burst, recording the capacity of the list at the peak and after the drain; the capacities
+     * don't depend on the timing, so one invocation is enough.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public ListAdapter footprint(Footprint footprint) {
+        ListAdapter list = newList();
+        for (int i = 0; i < peak; i++)
+            list.add(values[i]);
+        footprint.peakCapacity = list.capacity();
+        for (int i = peak - 1; i >= peak / 16; i--)
+            list.remove(i);
+        footprint.retainedCapacity = list.capacity();
+        return list;
+    }
+}
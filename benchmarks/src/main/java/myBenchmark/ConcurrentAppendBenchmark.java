@@ -0,0 +1,82 @@
+package myBenchmark;
+
+import myAdapter.ConcurrentAppendList;
+import myAdapter.Vector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the appends to a list shared by many threads.
+ * <p>
+ * {@link myAdapter.ConcurrentAppendList} reserves the slots with a CAS and never copies its segments; the
+ * baseline is the synchronized adaptee {@link myAdapter.Vector}, whose addElement takes the monitor and copies
+ * the array when it grows. Every thread replaces the shared list with an empty one after {@link #RESET} of its
+ * appends, so the size of the list stays below the number of threads times that limit and the measure doesn't
+ * depend on how long the iteration lasts.
+ * <p>
+ * The number of writer threads is chosen with the JMH option -t, for example
+ * {@code gradle :benchmarks:jmh -Pjmh="ConcurrentAppendBenchmark -t 8"}.
+ *
+ * @author Alessandro Marcassa
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class ConcurrentAppendBenchmark {
+
+    /**
+     * Appends after which a thread replaces the shared list
+     */
+    static final int RESET = 1 << 16;
+
+    Integer value = Integer.valueOf(42);
+    volatile ConcurrentAppendList appendList;
+    volatile Vector vector;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        appendList = new ConcurrentAppendList();
+        vector = new Vector();
+    }
+
+    /**
+     * Number of appends of a thread since it last replaced the list.
+     */
+    @State(Scope.Thread)
+    public static class Appends {
+        int count;
+
+        boolean reset() {
+            if (++count < RESET)
+                return false;
+            count = 0;
+            return true;
+        }
+    }
+
+    /**
+     * Appends an element to the ConcurrentAppendList.
+     */
+    @Benchmark
+    public Object appendListAdd(Appends appends) {
+        if (appends.reset())
+            appendList = new ConcurrentAppendList();
+        appendList.add(value);
+        return value;
+    }
+
+    /**
+     * Appends an element to the Vector.
+     */
+    @Benchmark
+    public Object vectorAdd(Appends appends) {
+        if (appends.reset())
+            vector = new Vector();
+        vector.addElement(value);
+        return value;
+    }
+}
@@ -0,0 +1,127 @@
+package myBenchmark;
+
+import myAdapter.CopyOnWriteList;
+import myAdapter.HIterator;
+import myAdapter.ListAdapter;
+import myAdapter.Vector;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Enumeration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the reads of a list shared by many threads.
+ * <p>
+ * The list is read by {@link myAdapter.CopyOnWriteList} without locks; the baselines are the synchronized
+ * adaptee {@link myAdapter.Vector}, where every elementAt and every step of the enumeration takes the
+ * monitor, and a {@link myAdapter.ListAdapter} protected by an external lock held for the whole read.
+ * <p>
+ * Every implementation has its own methods, so the measured code doesn't choose the list to read.
+ * The number of reader threads is chosen with the JMH option -t, for example
+ * {@code gradle :benchmarks:jmh -Pjmh="CopyOnWriteBenchmark -t 64"}; run it with 1, 2, 4, 8, 16, 32 and 64
+ * threads to see how the throughput scales.
+ *
+ * @author Alessandro Marcassa
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class CopyOnWriteBenchmark {
+
+    @Param({"100"})
+    int size;
+
+    CopyOnWriteList copyOnWrite;
+    Vector vector;
+    ListAdapter adapter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Integer[] values = Fixtures.values(size);
+        copyOnWrite = new CopyOnWriteList();
+        vector = new Vector();
+        adapter = new ListAdapter();
+        for (int i = 0; i < size; i++) {
+            copyOnWrite.add(values[i]);
+            vector.addElement(values[i]);
+            adapter.add(values[i]);
+        }
+    }
+
+    /**
+     * Index of the element read by a thread, so that the threads don't read always the same position.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int index;
+
+        int next(int size) {
+            if (++index == size)
+                index = 0;
+            return index;
+        }
+    }
+
+    /**
+     * Positional read of the CopyOnWriteList, without locks.
+     */
+    @Benchmark
+    public Object copyOnWriteGet(Cursor cursor) {
+        return copyOnWrite.get(cursor.next(size));
+    }
+
+    /**
+     * Positional read of the Vector, which takes its monitor.
+     */
+    @Benchmark
+    public Object vectorGet(Cursor cursor) {
+        return vector.elementAt(cursor.next(size));
+    }
+
+    /**
+     * Positional read of the ListAdapter under the external lock.
+     */
+    @Benchmark
+    public Object lockedGet(Cursor cursor) {
+        int index = cursor.next(size);
+        synchronized (adapter) {
+            return adapter.get(index);
+        }
+    }
+
+    /**
+     * Full traversal of the CopyOnWriteList through the iterator of its current array.
+     */
+    @Benchmark
+    public void copyOnWriteIteration(Blackhole bh) {
+        HIterator it = copyOnWrite.iterator();
+        while (it.hasNext())
+            bh.consume(it.next());
+    }
+
+    /**
+     * Full traversal of the Vector through its enumeration.
+     */
+    @Benchmark
+    public void vectorIteration(Blackhole bh) {
+        Enumeration e = vector.elements();
+        while (e.hasMoreElements())
+            bh.consume(e.nextElement());
+    }
+
+    /**
+     * Full traversal of the ListAdapter holding the external lock.
+     */
+    @Benchmark
+    public void lockedIteration(Blackhole bh) {
+        synchronized (adapter) {
+            HIterator it = adapter.iterator();
+            while (it.hasNext())
+                bh.consume(it.next());
+        }
+    }
+}
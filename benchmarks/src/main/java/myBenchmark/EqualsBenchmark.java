@@ -0,0 +1,92 @@
+package myBenchmark;
+
+import myAdapter.ArrayVector;
+import myAdapter.GapList;
+import myAdapter.HList;
+import myAdapter.ListAdapter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the comparison of two lists of 1M elements that differ only in the last element.
+ * <p>
+ * The scenarios are: two {@link myAdapter.ListAdapter}s compared over their arrays, the same two lists once
+ * their hash codes have been computed (the comparison stops at the hash codes), a ListAdapter compared with a
+ * {@link myAdapter.GapList} through its iterator, and java.util.ArrayList as baseline.
+ *
+ * @author Alessandro Marcassa
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class EqualsBenchmark {
+
+    @Param({"1000000"})
+    int size;
+
+    ListAdapter adapter;
+    ListAdapter otherAdapter;
+    ListAdapter hashedAdapter;
+    ListAdapter otherHashedAdapter;
+    GapList gapList;
+    ArrayList<Object> arrayList;
+    ArrayList<Object> otherArrayList;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Integer[] values = Fixtures.values(size);
+        adapter = new ListAdapter(new ArrayVector());
+        otherAdapter = new ListAdapter(new ArrayVector());
+        arrayList = new ArrayList<Object>(size);
+        otherArrayList = new ArrayList<Object>(size);
+        for (int i = 0; i < size; i++) {
+            adapter.add(values[i]);
+            arrayList.add(values[i]);
+            Integer value = i == size - 1 ? Integer.valueOf(-1) : Integer.valueOf(i);
+            otherAdapter.add(value);
+            otherArrayList.add(value);
+        }
+        gapList = new GapList(otherAdapter);
+        hashedAdapter = new ListAdapter(adapter);
+        otherHashedAdapter = new ListAdapter(otherAdapter);
+        hashedAdapter.hashCode();
+        otherHashedAdapter.hashCode();
+    }
+
+    /**
+     * Two ListAdapters, compared element by element over the arrays of their adaptees.
+     */
+    @Benchmark
+    public boolean listAdapter() {
+        return adapter.equals(otherAdapter);
+    }
+
+    /**
+     * Two ListAdapters with their hash codes already computed.
+     */
+    @Benchmark
+    public boolean listAdapterHashed() {
+        return hashedAdapter.equals(otherHashedAdapter);
+    }
+
+    /**
+     * A ListAdapter and a GapList, compared through the iterator of the GapList.
+     */
+    @Benchmark
+    public boolean listAdapterGapList() {
+        return adapter.equals(gapList);
+    }
+
+    /**
+     * Two java.util.ArrayLists.
+     */
+    @Benchmark
+    public boolean arrayList() {
+        return arrayList.equals(otherArrayList);
+    }
+}
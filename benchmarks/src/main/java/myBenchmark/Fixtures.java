@@ -0,0 +1,28 @@
+package myBenchmark;
+
+/**
+ * Shared input data of the benchmarks of {@link myAdapter.ListAdapter}.
+ * <p>
+ * The values are boxed once during the setup, so that the measured methods
+ * never pay for the allocation of the elements they insert or look up.
+ *
+ * @author Alessandro Marcassa
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /**
+     * Returns the values 0 .. size-1, already boxed.
+     *
+     * @param size number of values
+     * @return an array of distinct Integer of the given length
+     */
+    static Integer[] values(int size) {
+        Integer[] values = new Integer[size];
+        for (int i = 0; i < size; i++)
+            values[i] = Integer.valueOf(i);
+        return values;
+    }
+}
@@ -0,0 +1,68 @@
+package myBenchmark;
+
+import myAdapter.ArrayVector;
+import myAdapter.ListAdapter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the searches on a {@link myAdapter.ListAdapter} with and without the indexed mode.
+ * <p>
+ * {@link #indexOf()} searches random elements of the list; {@link #editAndIndexOf()} replaces an element in the
+ * middle of the list before every search, the worst case for the indexed mode, which rebuilds its table.
+ *
+ * @author Alessandro Marcassa
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class IndexOfBenchmark {
+
+    @Param({"1000", "500000"})
+    int size;
+
+    @Param({"false", "true"})
+    boolean indexed;
+
+    Integer[] values;
+    int[] positions;
+    ListAdapter list;
+    int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        values = Fixtures.values(size);
+        list = new ListAdapter(new ArrayVector());
+        for (int i = 0; i < size; i++)
+            list.add(values[i]);
+        list.setIndexed(indexed);
+        Random random = new Random(42);
+        positions = new int[1024];
+        for (int i = 0; i < positions.length; i++)
+            positions[i] = random.nextInt(size);
+    }
+
+    /**
+     * Search of a random element.
+     */
+    @Benchmark
+    public int indexOf() {
+        cursor = (cursor + 1) & (positions.length - 1);
+        return list.indexOf(values[positions[cursor]]);
+    }
+
+    /**
+     * Replacement of the element in the middle of the list with itself, then search of a random element.
+     */
+    @Benchmark
+    public int editAndIndexOf() {
+        cursor = (cursor + 1) & (positions.length - 1);
+        list.set(size / 2, values[size / 2]);
+        return list.indexOf(values[positions[cursor]]);
+    }
+}
@@ -0,0 +1,136 @@
+package myBenchmark;
+
+import myAdapter.ArrayVector;
+import myAdapter.HBatchListIterator;
+import myAdapter.HIterator;
+import myAdapter.HList;
+import myAdapter.ListAdapter;
+import myAdapter.Vector;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the main operations of {@link myAdapter.ListAdapter}.
+ * <p>
+ * The method names are the same of {@link ArrayListBenchmark} and {@link VectorBenchmark},
+ * which measure the same scenarios on the two baselines: java.util.ArrayList and the raw
+ * adaptee {@link myAdapter.Vector}. The difference between the results is the cost of the
+ * adapter layering. Every scenario runs with both adaptees: the synchronized {@link myAdapter.Vector}
+ * and the unsynchronized {@link myAdapter.ArrayVector}.
+ *
+ * @author Alessandro Marcassa
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class ListAdapterBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int size;
+
+    @Param({"Vector", "ArrayVector"})
+    String adaptee;
+
+    Integer[] values;
+    HList list;
+    int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        values = Fixtures.values(size);
+        list = newList();
+        for (int i = 0; i < size; i++)
+            list.add(values[i]);
+    }
+
+    HList newList() {
+        return new ListAdapter("Vector".equals(adaptee) ? new Vector() : new ArrayVector());
+    }
+
+    /**
+     * Fills an empty list with size elements.
+     */
+    @Benchmark
+    public HList add() {
+        HList target = newList();
+        for (int i = 0; i < size; i++)
+            target.add(values[i]);
+        return target;
+    }
+
+    /**
+     * Positional read, walking the whole list.
+     */
+    @Benchmark
+    public Object get() {
+        if (++cursor == size)
+            cursor = 0;
+        return list.get(cursor);
+    }
+
+    /**
+     * Linear search of the element in the middle of the list.
+     */
+    @Benchmark
+    public int indexOf() {
+        return list.indexOf(values[size / 2]);
+    }
+
+    /**
+     * Removes the element in the middle of the list and inserts it back,
+     * so that the size of the list doesn't change between invocations.
+     */
+    @Benchmark
+    public Object remove() {
+        Object removed = list.remove(size / 2);
+        list.add(size / 2, removed);
+        return removed;
+    }
+
+    /**
+     * Full traversal with the iterator.
+     */
+    @Benchmark
+    public void iteration(Blackhole bh) {
+        HIterator it = list.iterator();
+        while (it.hasNext())
+            bh.consume(it.next());
+    }
+
+    /**
+     * Full traversal draining the iterator into a buffer of 256 elements, against the
+     * element-at-a-time {@link #iteration}.
+     */
+    @Benchmark
+    public void batchIteration(Blackhole bh) {
+        Object[] buffer = new Object[256];
+        HBatchListIterator it = ((ListAdapter) list).batchListIterator();
+        int n;
+        while ((n = it.nextBatch(buffer, 0, buffer.length)) > 0)
+            for (int i = 0; i < n; i++)
+                bh.consume(buffer[i]);
+    }
+
+    /**
+     * Full traversal of a plain array with the same elements, the lower bound of {@link #iteration}.
+     */
+    @Benchmark
+    public void arrayIteration(Blackhole bh) {
+        Integer[] array = values;
+        for (int i = 0; i < array.length; i++)
+            bh.consume(array[i]);
+    }
+
+    /**
+     * Creation of a view over the central half of the list and a read through it.
+     */
+    @Benchmark
+    public Object subList() {
+        return list.subList(size / 4, size - size / 4).get(0);
+    }
+}
@@ -0,0 +1,69 @@
+package myBenchmark;
+
+import myAdapter.ArrayVector;
+import myAdapter.HPredicate;
+import myAdapter.ListAdapter;
+import myAdapter.ParallelLists;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the parallel operations of {@link myAdapter.ParallelLists} against the sequential scan
+ * of {@link myAdapter.ListAdapter}, on the common ForkJoinPool.
+ *
+ * @author Alessandro Marcassa
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class ParallelBenchmark {
+
+    @Param({"10000000"})
+    int size;
+
+    ListAdapter list;
+    Integer last;
+
+    final HPredicate isNegative = new HPredicate() {
+        public boolean test(Object obj) {
+            return ((Integer) obj).intValue() < 0;
+        }
+    };
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Integer[] values = Fixtures.values(size);
+        list = new ListAdapter(new ArrayVector());
+        for (int i = 0; i < size; i++)
+            list.add(values[i]);
+        last = Integer.valueOf(size - 1);
+    }
+
+    /**
+     * Sequential search of the last element.
+     */
+    @Benchmark
+    public int indexOf() {
+        return list.indexOf(last);
+    }
+
+    /**
+     * Parallel search of the last element.
+     */
+    @Benchmark
+    public int parallelIndexOf() {
+        return ParallelLists.indexOf(list, last);
+    }
+
+    /**
+     * Parallel evaluation of a predicate that holds for no element.
+     */
+    @Benchmark
+    public int parallelCount() {
+        return ParallelLists.count(list, isNegative);
+    }
+}
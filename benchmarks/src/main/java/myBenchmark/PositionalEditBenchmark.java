@@ -0,0 +1,71 @@
+package myBenchmark;
+
+import myAdapter.GapList;
+import myAdapter.HList;
+import myAdapter.ListAdapter;
+import myAdapter.TieredList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the insertions and removals in random positions on the implementations of
+ * {@link myAdapter.HList} that don't shift the whole tail: {@link myAdapter.TieredList} and
+ * {@link myAdapter.GapList}, against {@link myAdapter.ListAdapter}.
+ *
+ * @author Alessandro Marcassa
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class PositionalEditBenchmark {
+
+    @Param({"1000", "100000", "10000000"})
+    int size;
+
+    @Param({"ListAdapter", "TieredList", "GapList"})
+    String implementation;
+
+    Integer[] values;
+    int[] positions;
+    HList list;
+    int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        values = Fixtures.values(size);
+        list = "TieredList".equals(implementation) ? new TieredList()
+                : "GapList".equals(implementation) ? (HList) new GapList() : new ListAdapter();
+        for (int i = 0; i < size; i++)
+            list.add(values[i]);
+        Random random = new Random(42);
+        positions = new int[1024];
+        for (int i = 0; i < positions.length; i++)
+            positions[i] = random.nextInt(size);
+    }
+
+    /**
+     * Removes the element in a random position and inserts it in another random position,
+     * so that the size of the list doesn't change between invocations.
+     */
+    @Benchmark
+    public Object randomEdit() {
+        cursor = (cursor + 1) & (positions.length - 1);
+        Object removed = list.remove(positions[cursor]);
+        list.add(positions[(cursor + 512) & (positions.length - 1)], removed);
+        return removed;
+    }
+
+    /**
+     * Positional read in a random position.
+     */
+    @Benchmark
+    public Object randomGet() {
+        cursor = (cursor + 1) & (positions.length - 1);
+        return list.get(positions[cursor]);
+    }
+}
@@ -0,0 +1,111 @@
+package myBenchmark;
+
+import myAdapter.ArrayVector;
+import myAdapter.HComparator;
+import myAdapter.HIterator;
+import myAdapter.ListAdapter;
+import myAdapter.ListSort;
+import myAdapter.ParallelLists;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the sort of a {@link myAdapter.ListAdapter}: {@link myAdapter.ListSort} in the array of the
+ * Vector and {@link myAdapter.ParallelLists#sort}, against the copy into a java.util.ArrayList sorted with
+ * Collections.sort and copied back, which is what the code without a sort for HList does.
+ * <p>
+ * Every invocation restores the unsorted content first, with a single addAll; the restore is the same for all
+ * the methods. The order of the content is random, already sorted, or made of 16 sorted blocks.
+ *
+ * @author Alessandro Marcassa
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class SortBenchmark {
+
+    private static final HComparator ORDER = new HComparator() {
+        public int compare(Object a, Object b) {
+            return ((Integer) a).compareTo((Integer) b);
+        }
+    };
+
+    private static final Comparator<Object> J2SE_ORDER = new Comparator<Object>() {
+        public int compare(Object a, Object b) {
+            return ((Integer) a).compareTo((Integer) b);
+        }
+    };
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    @Param({"random", "sorted", "blocks"})
+    String order;
+
+    ListAdapter unsorted;
+    ListAdapter list;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Integer[] values = Fixtures.values(size);
+        Random random = new Random(42);
+        if ("random".equals(order)) {
+            for (int i = size - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                Integer t = values[i];
+                values[i] = values[j];
+                values[j] = t;
+            }
+        } else if ("blocks".equals(order)) {
+            // the block b holds b, b + 16, b + 32, ... so the blocks are sorted but interleaved
+            int block = (size + 15) / 16;
+            for (int i = 0; i < size; i++)
+                values[i] = Integer.valueOf(i / block + 16 * (i % block));
+        }
+        unsorted = new ListAdapter(new ArrayVector(size));
+        for (int i = 0; i < size; i++)
+            unsorted.add(values[i]);
+        list = new ListAdapter(new ArrayVector(size));
+    }
+
+    @Setup(Level.Invocation)
+    public void restore() {
+        list.clear();
+        list.addAll(unsorted);
+    }
+
+    @Benchmark
+    public ListAdapter listSort() {
+        ListSort.sort(list, ORDER);
+        return list;
+    }
+
+    @Benchmark
+    public ListAdapter parallelSort() {
+        ParallelLists.sort(list, ORDER);
+        return list;
+    }
+
+    /**
+     * Copy into an ArrayList, Collections.sort and copy back into the ListAdapter.
+     */
+    @Benchmark
+    public ListAdapter collectionsSort() {
+        ArrayList<Object> copy = new ArrayList<Object>(list.size());
+        HIterator it = list.iterator();
+        while (it.hasNext())
+            copy.add(it.next());
+        Collections.sort(copy, J2SE_ORDER);
+        for (int i = 0; i < copy.size(); i++)
+            list.set(i, copy.get(i));
+        return list;
+    }
+}
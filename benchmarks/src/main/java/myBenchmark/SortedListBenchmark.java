@@ -0,0 +1,87 @@
+package myBenchmark;
+
+import myAdapter.HComparator;
+import myAdapter.HList;
+import myAdapter.ListAdapter;
+import myAdapter.SortedList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the searches and of the ordered insertions of {@link myAdapter.SortedList}, against the
+ * linear searches of a {@link myAdapter.ListAdapter} kept sorted by hand.
+ *
+ * @author Alessandro Marcassa
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class SortedListBenchmark {
+
+    private static final HComparator ORDER = new HComparator() {
+        public int compare(Object a, Object b) {
+            return ((Integer) a).compareTo((Integer) b);
+        }
+    };
+
+    @Param({"1000", "1000000"})
+    int size;
+
+    @Param({"SortedList", "ListAdapter"})
+    String implementation;
+
+    Integer[] values;
+    Integer missing;
+    HList list;
+    int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        values = Fixtures.values(size);
+        missing = Integer.valueOf(-1);
+        list = "SortedList".equals(implementation) ? new SortedList(ORDER, size + 1) : (HList) new ListAdapter();
+        for (int i = 0; i < size; i++)
+            list.add(values[i]);
+    }
+
+    /**
+     * Search of the elements of the list, in turn.
+     */
+    @Benchmark
+    public int indexOf() {
+        if (++cursor == size)
+            cursor = 0;
+        return list.indexOf(values[cursor]);
+    }
+
+    /**
+     * Search of an element that isn't present, the worst case of the linear search.
+     */
+    @Benchmark
+    public boolean containsMissing() {
+        return list.contains(missing);
+    }
+
+    /**
+     * Insertion of an element in its sorted position and removal of the same element, so that the size of the
+     * list doesn't change between invocations. The ListAdapter finds the position with a linear search, as the
+     * code that keeps it sorted by hand does.
+     */
+    @Benchmark
+    public Object orderedInsert() {
+        if (++cursor == size)
+            cursor = 0;
+        Integer element = values[cursor];
+        if (list instanceof SortedList) {
+            list.add(element);
+        } else {
+            int index = list.indexOf(element);
+            list.add(index, element);
+        }
+        return list.remove(cursor);
+    }
+}
@@ -0,0 +1,75 @@
+package myBenchmark;
+
+import myAdapter.Vector;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Enumeration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Baseline of {@link ListAdapterBenchmark} on the raw adaptee {@link myAdapter.Vector}.
+ * <p>
+ * Vector has no views, so there is no subList scenario: the iteration goes through
+ * elements(), the only traversal offered by CLDC 1.1.
+ *
+ * @author Alessandro Marcassa
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class VectorBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    int size;
+
+    Integer[] values;
+    Vector vector;
+    int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        values = Fixtures.values(size);
+        vector = new Vector();
+        for (int i = 0; i < size; i++)
+            vector.addElement(values[i]);
+    }
+
+    @Benchmark
+    public Vector add() {
+        Vector target = new Vector();
+        for (int i = 0; i < size; i++)
+            target.addElement(values[i]);
+        return target;
+    }
+
+    @Benchmark
+    public Object get() {
+        if (++cursor == size)
+            cursor = 0;
+        return vector.elementAt(cursor);
+    }
+
+    @Benchmark
+    public int indexOf() {
+        return vector.indexOf(values[size / 2]);
+    }
+
+    @Benchmark
+    public Object remove() {
+        Object removed = vector.elementAt(size / 2);
+        vector.removeElementAt(size / 2);
+        vector.insertElementAt(removed, size / 2);
+        return removed;
+    }
+
+    @Benchmark
+    public void iteration(Blackhole bh) {
+        Enumeration e = vector.elements();
+        while (e.hasMoreElements())
+            bh.consume(e.nextElement());
+    }
+}
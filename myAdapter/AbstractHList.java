@@ -0,0 +1,470 @@
+package myAdapter;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+/**
+ * Skeletal implementation of {@link myAdapter.HList}, the equivalent of java.util.AbstractList of J2SE 1.4.2<br>
+ * <p>
+ * A subclass only needs to implement {@link #get(int)} and {@link #size()} to obtain an unmodifiable list;
+ * to obtain a modifiable one it must also override {@link #set(int, Object)}, {@link #add(int, Object)}
+ * and {@link #remove(int)}. Every other method is written in terms of these five, so a subclass overrides
+ * only the ones it can execute more efficiently with its own storage.
+ * <p>
+ * The subclasses must increment {@link #modCount} at every structural modification (a change of the size):
+ * the iterators and the sublists returned by this class use it to fail fast with a
+ * ConcurrentModificationException when the list is modified behind their back.
+ *
+ * @author Alessandro Marcassa
+ * @see myAdapter.HList
+ */
+public abstract class AbstractHList implements HList, HCollection {
+
+    /**
+     * Number of structural modifications of the list
+     */
+    protected int modCount = 0;
+
+    protected AbstractHList() {
+    }
+
+    // Positional Access Operations
+
+    public abstract Object get(int index);
+
+    public abstract int size();
+
+    /**
+     * This implementation always throws UnsupportedOperationException.
+     */
+    public Object set(int index, Object element) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * This implementation always throws UnsupportedOperationException.
+     */
+    public void add(int index, Object element) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * This implementation always throws UnsupportedOperationException.
+     */
+    public Object remove(int index) {
+        throw new UnsupportedOperationException();
+    }
+
+    // Query Operations
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean contains(Object obj) {
+        return indexOf(obj) >= 0;
+    }
+
+    public HIterator iterator() {
+        return listIterator();
+    }
+
+    public Object[] toArray() {
+        int size = size();
+        Object[] result = new Object[size];
+        for (int i = 0; i < size; i++)
+            result[i] = get(i);
+        return result;
+    }
+
+    /**
+     * If the array is longer than the list, all the positions after the last element are set to null,
+     * as {@link myAdapter.ListAdapter#toArray(Object[])} does.
+     */
+    public Object[] toArray(Object[] arrayTarget) {
+        int size = size();
+        if (arrayTarget.length < size)
+            arrayTarget = newArray(arrayTarget, size);
+        for (int i = 0; i < size; i++)
+            arrayTarget[i] = get(i);
+        clearTail(arrayTarget, size);
+        return arrayTarget;
+    }
+
+    // Modification Operations
+
+    /**
+     * Appends the element with add(size(), obj).
+     */
+    public boolean add(Object obj) {
+        add(size(), obj);
+        return true;
+    }
+
+    public boolean remove(Object obj) {
+        int index = indexOf(obj);
+        if (index < 0)
+            return false;
+        remove(index);
+        return true;
+    }
+
+    // Bulk Operations
+
+    public boolean containsAll(HCollection coll) {
+        HIterator it = coll.iterator();
+        while (it.hasNext())
+            if (!contains(it.next()))
+                return false;
+        return true;
+    }
+
+    public boolean addAll(HCollection coll) {
+        return addAll(size(), coll);
+    }
+
+    /**
+     * Inserts the elements one at a time with add(int, Object); subclasses backed by an array
+     * should override it to shift the tail only once.
+     */
+    public boolean addAll(int index, HCollection coll) {
+        rangeCheckForAdd(index);
+        Object[] elements = coll.toArray();
+        for (int i = 0; i < elements.length; i++)
+            add(index++, elements[i]);
+        return elements.length != 0;
+    }
+
+    public boolean removeAll(HCollection coll) {
+        return batchRemove(coll, false);
+    }
+
+    public boolean retainAll(HCollection coll) {
+        return batchRemove(coll, true);
+    }
+
+    /**
+     * Removes the elements whose presence in coll is different from retain
+     *
+     * @param coll   the collection used as filter
+     * @param retain true to keep the elements of coll, false to remove them
+     * @return true if the list has been modified
+     */
+    boolean batchRemove(HCollection coll, boolean retain) {
+        if (coll == null)
+            throw new NullPointerException();
+        boolean modified = false;
+        HIterator it = iterator();
+        while (it.hasNext())
+            if (coll.contains(it.next()) != retain) {
+                it.remove();
+                modified = true;
+            }
+        return modified;
+    }
+
+    public void clear() {
+        removeRange(0, size());
+    }
+
+    /**
+     * Removes the elements in the range [fromIndex, toIndex). This implementation removes them
+     * one at a time, from the last one, with remove(int).
+     *
+     * @param fromIndex index of the first element to remove
+     * @param toIndex   index after the last element to remove
+     */
+    protected void removeRange(int fromIndex, int toIndex) {
+        for (int i = toIndex - 1; i >= fromIndex; i--)
+            remove(i);
+    }
+
+    // Search Operations
+
+    public int indexOf(Object obj) {
+        int size = size();
+        for (int i = 0; i < size; i++)
+            if (eq(obj, get(i)))
+                return i;
+        return -1;
+    }
+
+    public int lastIndexOf(Object obj) {
+        for (int i = size() - 1; i >= 0; i--)
+            if (eq(obj, get(i)))
+                return i;
+        return -1;
+    }
+
+    // List Iterators
+
+    public HListIterator listIterator() {
+        return listIterator(0);
+    }
+
+    public HListIterator listIterator(int index) {
+        rangeCheckForAdd(index);
+        return new ListItr(index);
+    }
+
+    // View
+
+    public HList subList(int fromIndex, int toIndex) {
+        subListRangeCheck(fromIndex, toIndex, size());
+        return new SubList(this, fromIndex, toIndex);
+    }
+
+    // Comparison and hashing
+
+    /**
+     * Two lists are equal if they contain the same elements in the same order,
+     * whatever their implementation.
+     */
+    public boolean equals(Object obj) {
+        if (obj == this)
+            return true;
+        if (!(obj instanceof HList))
+            return false;
+        HList other = (HList) obj;
+        if (other.size() != size())
+            return false;
+        HIterator it1 = iterator();
+        HIterator it2 = other.iterator();
+        while (it1.hasNext() && it2.hasNext())
+            if (!eq(it1.next(), it2.next()))
+                return false;
+        return !(it1.hasNext() || it2.hasNext());
+    }
+
+    public int hashCode() {
+        int hash = 1;
+        HIterator it = iterator();
+        while (it.hasNext()) {
+            Object e = it.next();
+            hash = 31 * hash + (e == null ? 0 : e.hashCode());
+        }
+        return hash;
+    }
+
+    public String toString() {
+        StringBuffer buf = new StringBuffer("[");
+        HIterator it = iterator();
+        while (it.hasNext()) {
+            Object e = it.next();
+            buf.append(e == this ? "(this Collection)" : String.valueOf(e));
+            if (it.hasNext())
+                buf.append(", ");
+        }
+        return buf.append(']').toString();
+    }
+
+    // Helpers
+
+    void rangeCheck(int index) {
+        if (index < 0 || index >= size())
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+    }
+
+    void rangeCheckForAdd(int index) {
+        if (index < 0 || index > size())
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+    }
+
+    static void subListRangeCheck(int fromIndex, int toIndex, int size) {
+        if (fromIndex < 0)
+            throw new IndexOutOfBoundsException("fromIndex = " + fromIndex);
+        if (toIndex > size)
+            throw new IndexOutOfBoundsException("toIndex = " + toIndex);
+        if (fromIndex > toIndex)
+            throw new IndexOutOfBoundsException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+    }
+
+    /**
+     * Equality of two elements as defined by the collections: both null or equal.
+     */
+    static boolean eq(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    /**
+     * Sets to null all the positions of the array from index size on
+     */
+    static void clearTail(Object[] array, int size) {
+        for (int i = size; i < array.length; i++)
+            array[i] = null;
+    }
+
+    /**
+     * Allocates an array with the same runtime type of prototype. The reflection is only needed
+     * when the component type isn't Object, since CLDC 1.1 has no java.lang.reflect.Array.
+     *
+     * @param prototype array of the desired runtime type
+     * @param length    length of the new array
+     * @return a new array of the same type of prototype
+     */
+    static Object[] newArray(Object[] prototype, int length) {
+        if (prototype.getClass() == Object[].class)
+            return new Object[length];
+        return (Object[]) java.lang.reflect.Array.newInstance(prototype.getClass().getComponentType(), length);
+    }
+
+    /**
+     * Index-based list iterator, it works with any subclass through get, set, add and remove.
+     * Like the iterator of {@link myAdapter.ListAdapter}, the iteration starts at the first successful
+     * call of next, previous or add: until then the modifications of the list don't invalidate it.
+     */
+    private class ListItr implements HListIterator {
+        int cursor;
+        int lastRet = -1;
+        int expectedModCount = modCount;
+        boolean started;
+
+        ListItr(int index) {
+            cursor = index;
+        }
+
+        public boolean hasNext() {
+            return cursor < size();
+        }
+
+        public Object next() {
+            checkForComodification();
+            if (cursor >= size())
+                throw new NoSuchElementException();
+            Object next = get(cursor);
+            started = true;
+            lastRet = cursor++;
+            return next;
+        }
+
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        public Object previous() {
+            checkForComodification();
+            if (cursor <= 0)
+                throw new NoSuchElementException();
+            Object previous = get(cursor - 1);
+            started = true;
+            lastRet = --cursor;
+            return previous;
+        }
+
+        public int nextIndex() {
+            return cursor;
+        }
+
+        public int previousIndex() {
+            return cursor - 1;
+        }
+
+        public void remove() {
+            if (lastRet < 0)
+                throw new IllegalStateException();
+            checkForComodification();
+            AbstractHList.this.remove(lastRet);
+            cursor = lastRet;
+            lastRet = -1;
+            expectedModCount = modCount;
+        }
+
+        public void set(Object obj) {
+            if (lastRet < 0)
+                throw new IllegalStateException();
+            checkForComodification();
+            AbstractHList.this.set(lastRet, obj);
+        }
+
+        public void add(Object obj) {
+            checkForComodification();
+            AbstractHList.this.add(cursor++, obj);
+            started = true;
+            lastRet = -1;
+            expectedModCount = modCount;
+        }
+
+        final void checkForComodification() {
+            if (!started) {
+                expectedModCount = modCount;
+                if (cursor > size())
+                    throw new ConcurrentModificationException();
+            } else if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * View of a portion of a list, every operation is forwarded to the parent list moving the index by offset.
+     */
+    static class SubList extends AbstractHList {
+        private final AbstractHList parent;
+        private final int offset;
+        private int size;
+
+        SubList(AbstractHList parent, int fromIndex, int toIndex) {
+            this.parent = parent;
+            this.offset = fromIndex;
+            this.size = toIndex - fromIndex;
+            this.modCount = parent.modCount;
+        }
+
+        public int size() {
+            checkForComodification();
+            return size;
+        }
+
+        public Object get(int index) {
+            rangeCheck(index);
+            checkForComodification();
+            return parent.get(offset + index);
+        }
+
+        public Object set(int index, Object element) {
+            rangeCheck(index);
+            checkForComodification();
+            return parent.set(offset + index, element);
+        }
+
+        public void add(int index, Object element) {
+            rangeCheckForAdd(index);
+            checkForComodification();
+            parent.add(offset + index, element);
+            modCount = parent.modCount;
+            size++;
+        }
+
+        public Object remove(int index) {
+            rangeCheck(index);
+            checkForComodification();
+            Object removed = parent.remove(offset + index);
+            modCount = parent.modCount;
+            size--;
+            return removed;
+        }
+
+        protected void removeRange(int fromIndex, int toIndex) {
+            checkForComodification();
+            parent.removeRange(offset + fromIndex, offset + toIndex);
+            modCount = parent.modCount;
+            size -= toIndex - fromIndex;
+        }
+
+        public boolean addAll(int index, HCollection coll) {
+            rangeCheckForAdd(index);
+            int added = coll.size();
+            if (added == 0)
+                return false;
+            checkForComodification();
+            parent.addAll(offset + index, coll);
+            modCount = parent.modCount;
+            size += added;
+            return true;
+        }
+
+        private void checkForComodification() {
+            if (parent.modCount != modCount)
+                throw new ConcurrentModificationException();
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package myAdapter;
+
+import java.util.Enumeration;
+import java.util.NoSuchElementException;
+
+/**
+ * Unsynchronized version of {@link myAdapter.Vector}<br>
+ *
+ * <p>
+ * The object {@link myAdapter.ArrayVector} exposes the same methods of {@link myAdapter.Vector}, but the
+ * elements are saved directly in a plain array of Object instead of a java.util.Vector. No method takes a
+ * monitor lock and every call works on the array without a further delegation, so it's the adaptee to
+ * choose when a {@link myAdapter.ListAdapter} is used by a single thread.
+ * <p>
+ * Only features of CLDC 1.1 are used: growth and shifts are done with System.arraycopy.
+ *
+ * @see myAdapter.Vector
+ * @author Alessandro Marcassa
+ */
+public class ArrayVector extends Vector {
+
+    Object[] elementData;
+    int elementCount;
+    int capacityIncrement;
+
+    public ArrayVector() {
+        this(10);
+    }
+
+    public ArrayVector(int initialCapacity) {
+        this(initialCapacity, 0);
+    }
+
+    public ArrayVector(int initialCapacity, int capacityIncrement) {
+        super(null);
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+        this.elementData = new Object[initialCapacity];
+        this.capacityIncrement = capacityIncrement;
+    }
+
+    public void addElement(Object obj){
+        if (elementCount == elementData.length)
+            grow(elementCount + 1);
+        elementData[elementCount++] = obj;
+    }
+
+    public int capacity(){
+        return elementData.length;
+    }
+
+    public boolean contains(Object elem){
+        return indexOf(elem, 0) >= 0;
+    }
+
+    public void copyInto(Object[] anArray){
+        System.arraycopy(elementData, 0, anArray, 0, elementCount);
+    }
+
+    public Object elementAt(int index){
+        if (index >= elementCount)
+            throw new ArrayIndexOutOfBoundsException(index + " >= " + elementCount);
+        return elementData[index];
+    }
+
+    public Enumeration elements(){
+        return new Enumeration() {
+            int count = 0;
+
+            public boolean hasMoreElements() {
+                return count < elementCount;
+            }
+
+            public Object nextElement() {
+                if (count < elementCount)
+                    return elementData[count++];
+                throw new NoSuchElementException("ArrayVector Enumeration");
+            }
+        };
+    }
+
+    public void ensureCapacity(int minCapacity){
+        if (minCapacity > elementData.length)
+            grow(minCapacity);
+    }
+
+    public Object firstElement(){
+        if (elementCount == 0)
+            throw new NoSuchElementException();
+        return elementData[0];
+    }
+
+    public int indexOf(Object elem){
+        return indexOf(elem, 0);
+    }
+
+    public int indexOf(Object elem, int index){
+        if (elem == null) {
+            for (int i = index; i < elementCount; i++)
+                if (elementData[i] == null)
+                    return i;
+        } else {
+            for (int i = index; i < elementCount; i++)
+                if (elem.equals(elementData[i]))
+                    return i;
+        }
+        return -1;
+    }
+
+    public void insertElementAt(Object obj, int index){
+        if (index > elementCount)
+            throw new ArrayIndexOutOfBoundsException(index + " > " + elementCount);
+        if (elementCount == elementData.length)
+            grow(elementCount + 1);
+        System.arraycopy(elementData, index, elementData, index + 1, elementCount - index);
+        elementData[index] = obj;
+        elementCount++;
+    }
+
+    public boolean isEmpty(){
+        return elementCount == 0;
+    }
+
+    public Object lastElement(){
+        if (elementCount == 0)
+            throw new NoSuchElementException();
+        return elementData[elementCount - 1];
+    }
+
+    public int lastIndexOf(Object elem){
+        return lastIndexOf(elem, elementCount - 1);
+    }
+
+    public int lastIndexOf(Object elem, int index){
+        if (index >= elementCount)
+            throw new IndexOutOfBoundsException(index + " >= " + elementCount);
+        if (elem == null) {
+            for (int i = index; i >= 0; i--)
+                if (elementData[i] == null)
+                    return i;
+        } else {
+            for (int i = index; i >= 0; i--)
+                if (elem.equals(elementData[i]))
+                    return i;
+        }
+        return -1;
+    }
+
+    public void removeAllElements(){
+        for (int i = 0; i < elementCount; i++)
+            elementData[i] = null;
+        elementCount = 0;
+    }
+
+    public boolean removeElement(Object obj){
+        int i = indexOf(obj, 0);
+        if (i < 0)
+            return false;
+        removeElementAt(i);
+        return true;
+    }
+
+    public void removeElementAt(int index){
+        if (index >= elementCount)
+            throw new ArrayIndexOutOfBoundsException(index + " >= " + elementCount);
+        if (index < 0)
+            throw new ArrayIndexOutOfBoundsException(index);
+        int moved = elementCount - index - 1;
+        if (moved > 0)
+            System.arraycopy(elementData, index + 1, elementData, index, moved);
+        elementData[--elementCount] = null;
+    }
+
+    public void setElementAt(Object obj, int index){
+        if (index >= elementCount)
+            throw new ArrayIndexOutOfBoundsException(index + " >= " + elementCount);
+        elementData[index] = obj;
+    }
+
+    public void setSize(int newSize){
+        if (newSize < 0)
+            throw new ArrayIndexOutOfBoundsException(newSize);
+        if (newSize > elementData.length)
+            grow(newSize);
+        for (int i = newSize; i < elementCount; i++)
+            elementData[i] = null;
+        elementCount = newSize;
+    }
+
+    public int size(){
+        return elementCount;
+    }
+
+    public String toString(){
+        StringBuffer buf = new StringBuffer("[");
+        for (int i = 0; i < elementCount; i++) {
+            if (i > 0)
+                buf.append(", ");
+            Object e = elementData[i];
+            buf.append(e == this ? "(this Collection)" : String.valueOf(e));
+        }
+        return buf.append(']').toString();
+    }
+
+    public void trimToSize(){
+        if (elementCount < elementData.length) {
+            Object[] trimmed = new Object[elementCount];
+            System.arraycopy(elementData, 0, trimmed, 0, elementCount);
+            elementData = trimmed;
+        }
+    }
+
+    Object[] array(){
+        return elementData;
+    }
+
+    void setCapacity(int capacity){
+        Object[] resized = new Object[capacity];
+        System.arraycopy(elementData, 0, resized, 0, elementCount);
+        elementData = resized;
+    }
+
+    /**
+     * Enlarges the array so that it can hold at least minCapacity elements,
+     * following the same growth policy of java.util.Vector
+     *
+     * @param minCapacity the desired minimum capacity
+     */
+    private void grow(int minCapacity){
+        int oldCapacity = elementData.length;
+        int newCapacity = capacityIncrement > 0 ? oldCapacity + capacityIncrement : oldCapacity * 2;
+        if (newCapacity < minCapacity)
+            newCapacity = minCapacity;
+        Object[] grown = new Object[newCapacity];
+        System.arraycopy(elementData, 0, grown, 0, elementCount);
+        elementData = grown;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ArrayVector other = (ArrayVector) o;
+        if (elementCount != other.elementCount) return false;
+        for (int i = 0; i < elementCount; i++) {
+            Object e = elementData[i];
+            if (!(e == null ? other.elementData[i] == null : e.equals(other.elementData[i])))
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < elementCount; i++) {
+            Object e = elementData[i];
+            hash = 31 * hash + (e == null ? 0 : e.hashCode());
+        }
+        return hash;
+    }
+}
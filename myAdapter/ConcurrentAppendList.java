@@ -0,0 +1,221 @@
+package myAdapter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free implementation of {@link myAdapter.HList} that only supports appending<br>
+ * <p>
+ * The elements are saved in segments whose length doubles: the segment k holds 32 * 2<sup>k</sup> elements,
+ * so the list grows by allocating a new segment and never copies the elements already inserted. The
+ * position of an index in its segment is computed with a few bit operations, so get costs O(1).
+ * <p>
+ * A thread that appends first reserves its slot incrementing the reserved count with a CAS, then writes the
+ * element in the slot and finally advances the published size over all the consecutive slots already written,
+ * helping the threads that reserved a slot before it. The readers only see the published size, so every
+ * element at an index lower than size() has been completely written. No thread ever waits for another one:
+ * if a writer is suspended after its reservation, the published size stops before its slot until it completes.
+ * <p>
+ * All the modifications other than {@link #add(Object)} and {@link #addAll(HCollection)} throw
+ * UnsupportedOperationException. The iterators never throw ConcurrentModificationException: they return the
+ * elements published up to the moment in which hasNext is called.
+ * <p>
+ * This class is based on java.util.concurrent.atomic, so unlike the rest of the package it requires J2SE 5.0.
+ *
+ * @author Alessandro Marcassa
+ * @see myAdapter.HList
+ */
+public class ConcurrentAppendList extends AbstractHList {
+
+    /**
+     * Logarithm of the length of the first segment
+     */
+    private static final int FIRST_SHIFT = 5;
+
+    private static final int FIRST = 1 << FIRST_SHIFT;
+
+    /**
+     * Largest size, so that index + FIRST never overflows
+     */
+    private static final int MAX_SIZE = Integer.MAX_VALUE - FIRST;
+
+    /**
+     * Placeholder saved in place of the null elements, since an empty slot is null
+     */
+    private static final Object NULL = new Object();
+
+    /**
+     * The segments, allocated when the first slot of each one is reserved
+     */
+    private final AtomicReferenceArray segments = new AtomicReferenceArray(32 - FIRST_SHIFT);
+
+    /**
+     * Number of reserved slots
+     */
+    private final AtomicInteger reserved = new AtomicInteger();
+
+    /**
+     * Number of slots written, all the slots before it contain an element
+     */
+    private final AtomicInteger published = new AtomicInteger();
+
+    public ConcurrentAppendList() {
+    }
+
+    /**
+     * Creates a list containing the elements of the specified collection, in the order
+     * returned by its iterator
+     *
+     * @param coll the collection whose elements are placed into this list
+     * @throws NullPointerException if coll is null
+     */
+    public ConcurrentAppendList(HCollection coll) {
+        addAll(coll);
+    }
+
+    public int size() {
+        return published.get();
+    }
+
+    public Object get(int index) {
+        int size = published.get();
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        int j = index + FIRST;
+        int k = segmentOf(j);
+        Object element = ((AtomicReferenceArray) segments.get(k)).get(j - (FIRST << k));
+        return element == NULL ? null : element;
+    }
+
+    /**
+     * Appends the element, without locks.
+     */
+    public boolean add(Object obj) {
+        int index = reserve(1);
+        write(index, obj);
+        publish(index, index + 1);
+        return true;
+    }
+
+    /**
+     * Reserves the slots of all the elements with a single CAS, so that they are contiguous in the list.
+     */
+    public boolean addAll(HCollection coll) {
+        Object[] elements = coll.toArray();
+        if (elements.length == 0)
+            return false;
+        int index = reserve(elements.length);
+        for (int i = 0; i < elements.length; i++)
+            write(index + i, elements[i]);
+        publish(index, index + elements.length);
+        return true;
+    }
+
+    /**
+     * This implementation always throws UnsupportedOperationException.
+     */
+    public boolean addAll(int index, HCollection coll) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * This implementation always throws UnsupportedOperationException.
+     */
+    public boolean remove(Object obj) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * This implementation always throws UnsupportedOperationException.
+     */
+    public boolean removeAll(HCollection coll) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * This implementation always throws UnsupportedOperationException.
+     */
+    public boolean retainAll(HCollection coll) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * This implementation always throws UnsupportedOperationException.
+     */
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    // Helpers
+
+    /**
+     * Reserves count consecutive slots
+     *
+     * @param count number of slots to reserve
+     * @return index of the first reserved slot
+     * @throws IllegalStateException if the list can't hold count more elements
+     */
+    private int reserve(int count) {
+        while (true) {
+            int current = reserved.get();
+            if (count > MAX_SIZE - current)
+                throw new IllegalStateException("List full");
+            if (reserved.compareAndSet(current, current + count))
+                return current;
+        }
+    }
+
+    /**
+     * Writes the element in its reserved slot, allocating the segment if no other thread did it
+     */
+    // The arrays are raw like the rest of the package, and every slot holds an Object, so the unchecked calls are safe
+    @SuppressWarnings("unchecked")
+    private void write(int index, Object obj) {
+        int j = index + FIRST;
+        int k = segmentOf(j);
+        AtomicReferenceArray segment = (AtomicReferenceArray) segments.get(k);
+        if (segment == null) {
+            segments.compareAndSet(k, null, new AtomicReferenceArray(FIRST << k));
+            segment = (AtomicReferenceArray) segments.get(k);
+        }
+        segment.set(j - (FIRST << k), obj == null ? NULL : obj);
+    }
+
+    /**
+     * Advances the published size over the written slots. Every writer calls it after its write, so the
+     * last writer of a sequence of consecutive slots always publishes all of them.
+     */
+    private void publish() {
+        while (true) {
+            int size = published.get();
+            if (size == reserved.get() || !written(size))
+                return;
+            published.compareAndSet(size, size + 1);
+        }
+    }
+
+    /**
+     * Publishes the slots from index to end - 1 just written by the caller. In the common case all the
+     * previous slots are already published and nobody reserved a slot after them: a single CAS publishes
+     * them and no other slot has to be checked. Otherwise the caller helps with the slots that follow.
+     */
+    private void publish(int index, int end) {
+        if (!published.compareAndSet(index, end) || reserved.get() != end)
+            publish();
+    }
+
+    private boolean written(int index) {
+        int j = index + FIRST;
+        int k = segmentOf(j);
+        AtomicReferenceArray segment = (AtomicReferenceArray) segments.get(k);
+        return segment != null && segment.get(j - (FIRST << k)) != null;
+    }
+
+    /**
+     * Segment of the element at index j - FIRST: the segment k contains the values of j from
+     * FIRST * 2<sup>k</sup> to FIRST * 2<sup>k+1</sup> - 1
+     */
+    private static int segmentOf(int j) {
+        return 31 - Integer.numberOfLeadingZeros(j) - FIRST_SHIFT;
+    }
+}
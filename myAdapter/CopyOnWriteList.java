@@ -0,0 +1,363 @@
+package myAdapter;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Thread-safe implementation of {@link myAdapter.HList} in which every modification copies the array<br>
+ * <p>
+ * The elements are kept in an array that is never modified after it has been published in a volatile
+ * field. The read operations (get, size, indexOf, contains, toArray, ...) read the current array once and
+ * work on it without any lock, so any number of threads can read at the same time. The modifications are
+ * serialized on a private lock: each one builds a new array and publishes it with a single write of the
+ * field, so a reader sees either the whole modification or none of it.
+ * <p>
+ * The iterators work on the array that was current when they were created: they never throw
+ * ConcurrentModificationException, they don't see the later modifications and they don't support
+ * remove, set and add, which throw UnsupportedOperationException.
+ * <p>
+ * Every modification costs O(n), so this list is the right choice only when the reads outnumber the
+ * modifications by far, as for the configuration shared by many threads.
+ *
+ * @author Alessandro Marcassa
+ * @see myAdapter.HList
+ */
+public class CopyOnWriteList extends AbstractHList {
+    private static final Object[] EMPTY = new Object[0];
+
+    /**
+     * The current array, replaced by every modification and never modified after its publication
+     */
+    private volatile Object[] array;
+
+    /**
+     * Lock that serializes the modifications
+     */
+    private final Object lock = new Object();
+
+    public CopyOnWriteList() {
+        array = EMPTY;
+    }
+
+    /**
+     * Creates a list containing the elements of the specified collection, in the order
+     * returned by its iterator
+     *
+     * @param coll the collection whose elements are placed into this list
+     * @throws NullPointerException if coll is null
+     */
+    public CopyOnWriteList(HCollection coll) {
+        array = coll.toArray();
+    }
+
+    // Read operations, without lock
+
+    public int size() {
+        return array.length;
+    }
+
+    public Object get(int index) {
+        Object[] elements = array;
+        if (index < 0 || index >= elements.length)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + elements.length);
+        return elements[index];
+    }
+
+    public int indexOf(Object obj) {
+        Object[] elements = array;
+        return indexOf(obj, elements, elements.length);
+    }
+
+    public int lastIndexOf(Object obj) {
+        Object[] elements = array;
+        for (int i = elements.length - 1; i >= 0; i--)
+            if (eq(obj, elements[i]))
+                return i;
+        return -1;
+    }
+
+    public boolean containsAll(HCollection coll) {
+        Object[] elements = array;
+        HIterator it = coll.iterator();
+        while (it.hasNext())
+            if (indexOf(it.next(), elements, elements.length) < 0)
+                return false;
+        return true;
+    }
+
+    public Object[] toArray() {
+        Object[] elements = array;
+        return copyOf(elements, elements.length);
+    }
+
+    public Object[] toArray(Object[] arrayTarget) {
+        Object[] elements = array;
+        int size = elements.length;
+        if (arrayTarget.length < size)
+            arrayTarget = newArray(arrayTarget, size);
+        System.arraycopy(elements, 0, arrayTarget, 0, size);
+        clearTail(arrayTarget, size);
+        return arrayTarget;
+    }
+
+    /**
+     * The iterator works on the current array and doesn't support the modifications of the list.
+     */
+    public HListIterator listIterator(int index) {
+        Object[] elements = array;
+        if (index < 0 || index > elements.length)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + elements.length);
+        return new SnapshotIterator(elements, index);
+    }
+
+    /**
+     * Returns the current array, that must not be modified
+     */
+    Object[] snapshot() {
+        return array;
+    }
+
+    /**
+     * Publishes elements in place of the array expected, as a single modification, only if no other
+     * modification has replaced it in the meantime
+     *
+     * @return true if elements has been published
+     */
+    boolean replace(Object[] expected, Object[] elements) {
+        synchronized (lock) {
+            if (array != expected)
+                return false;
+            array = elements;
+            return true;
+        }
+    }
+
+    // Modifications, serialized on the lock
+
+    public Object set(int index, Object element) {
+        synchronized (lock) {
+            Object[] elements = array;
+            Object old = get(index);
+            if (old != element) {
+                Object[] copy = copyOf(elements, elements.length);
+                copy[index] = element;
+                array = copy;
+            }
+            return old;
+        }
+    }
+
+    public boolean add(Object obj) {
+        synchronized (lock) {
+            Object[] elements = array;
+            Object[] copy = copyOf(elements, elements.length + 1);
+            copy[elements.length] = obj;
+            array = copy;
+            modCount++;
+            return true;
+        }
+    }
+
+    public void add(int index, Object element) {
+        synchronized (lock) {
+            Object[] elements = array;
+            int size = elements.length;
+            if (index < 0 || index > size)
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            Object[] copy = new Object[size + 1];
+            System.arraycopy(elements, 0, copy, 0, index);
+            System.arraycopy(elements, index, copy, index + 1, size - index);
+            copy[index] = element;
+            array = copy;
+            modCount++;
+        }
+    }
+
+    /**
+     * Appends the element only if the list doesn't contain it, as a single atomic operation
+     *
+     * @param obj element to append
+     * @return true if the element has been appended
+     */
+    public boolean addIfAbsent(Object obj) {
+        synchronized (lock) {
+            if (indexOf(obj) >= 0)
+                return false;
+            return add(obj);
+        }
+    }
+
+    public Object remove(int index) {
+        synchronized (lock) {
+            Object[] elements = array;
+            Object old = get(index);
+            removeRange(elements, index, index + 1);
+            return old;
+        }
+    }
+
+    public boolean remove(Object obj) {
+        synchronized (lock) {
+            Object[] elements = array;
+            int index = indexOf(obj, elements, elements.length);
+            if (index < 0)
+                return false;
+            removeRange(elements, index, index + 1);
+            return true;
+        }
+    }
+
+    /**
+     * The elements of coll are copied before taking the lock, then appended at the length of the array current
+     * when the lock is held, so a concurrent modification can't move the end of the list.
+     */
+    public boolean addAll(HCollection coll) {
+        Object[] added = coll.toArray();
+        synchronized (lock) {
+            if (added.length == 0)
+                return false;
+            Object[] elements = array;
+            Object[] copy = copyOf(elements, elements.length + added.length);
+            System.arraycopy(added, 0, copy, elements.length, added.length);
+            array = copy;
+            modCount++;
+            return true;
+        }
+    }
+
+    /**
+     * The elements of coll are copied before taking the lock, then the new array is built with a single allocation.
+     */
+    public boolean addAll(int index, HCollection coll) {
+        Object[] added = coll.toArray();
+        synchronized (lock) {
+            Object[] elements = array;
+            int size = elements.length;
+            if (index < 0 || index > size)
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            if (added.length == 0)
+                return false;
+            Object[] copy = new Object[size + added.length];
+            System.arraycopy(elements, 0, copy, 0, index);
+            System.arraycopy(added, 0, copy, index, added.length);
+            System.arraycopy(elements, index, copy, index + added.length, size - index);
+            array = copy;
+            modCount++;
+            return true;
+        }
+    }
+
+    /**
+     * Filters the current array into a new one, publishing it only if some element has been removed.
+     */
+    boolean batchRemove(HCollection coll, boolean retain) {
+        if (coll == null)
+            throw new NullPointerException();
+        synchronized (lock) {
+            Object[] elements = array;
+            Object[] kept = new Object[elements.length];
+            int count = 0;
+            for (int i = 0; i < elements.length; i++)
+                if (coll.contains(elements[i]) == retain)
+                    kept[count++] = elements[i];
+            if (count == elements.length)
+                return false;
+            array = copyOf(kept, count);
+            modCount++;
+            return true;
+        }
+    }
+
+    protected void removeRange(int fromIndex, int toIndex) {
+        synchronized (lock) {
+            if (fromIndex < toIndex)
+                removeRange(array, fromIndex, toIndex);
+        }
+    }
+
+    public void clear() {
+        synchronized (lock) {
+            array = EMPTY;
+            modCount++;
+        }
+    }
+
+    // Helpers
+
+    /**
+     * Publishes a copy of elements without the range [fromIndex, toIndex), the caller holds the lock
+     */
+    private void removeRange(Object[] elements, int fromIndex, int toIndex) {
+        int size = elements.length;
+        Object[] copy = new Object[size - (toIndex - fromIndex)];
+        System.arraycopy(elements, 0, copy, 0, fromIndex);
+        System.arraycopy(elements, toIndex, copy, fromIndex, size - toIndex);
+        array = copy;
+        modCount++;
+    }
+
+    private static int indexOf(Object obj, Object[] elements, int size) {
+        for (int i = 0; i < size; i++)
+            if (eq(obj, elements[i]))
+                return i;
+        return -1;
+    }
+
+    private static Object[] copyOf(Object[] elements, int length) {
+        Object[] copy = new Object[length];
+        System.arraycopy(elements, 0, copy, 0, Math.min(length, elements.length));
+        return copy;
+    }
+
+    /**
+     * Iterator over an array that is never modified, it needs neither locks nor checks of comodification.
+     */
+    private static class SnapshotIterator implements HListIterator {
+        private final Object[] snapshot;
+        private int cursor;
+
+        SnapshotIterator(Object[] snapshot, int index) {
+            this.snapshot = snapshot;
+            this.cursor = index;
+        }
+
+        public boolean hasNext() {
+            return cursor < snapshot.length;
+        }
+
+        public Object next() {
+            if (cursor >= snapshot.length)
+                throw new NoSuchElementException();
+            return snapshot[cursor++];
+        }
+
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        public Object previous() {
+            if (cursor <= 0)
+                throw new NoSuchElementException();
+            return snapshot[--cursor];
+        }
+
+        public int nextIndex() {
+            return cursor;
+        }
+
+        public int previousIndex() {
+            return cursor - 1;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        public void set(Object obj) {
+            throw new UnsupportedOperationException();
+        }
+
+        public void add(Object obj) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package myAdapter;
+
+/**
+ * Implementation of {@link myAdapter.HList} backed by a gap buffer<br>
+ * <p>
+ * The elements are saved in an array that contains a gap of free positions: the elements before
+ * the gap are at the beginning of the array, the elements after the gap at its end. An insertion or
+ * a removal at the position of the gap costs O(1) amortized, since it only moves one bound of the gap;
+ * an operation in another position first moves the gap there, copying only the elements between the
+ * old and the new position.
+ * <p>
+ * It's the right choice when the list is edited around a moving position, for example through
+ * {@link myAdapter.HListIterator#add(Object)} and {@link myAdapter.HListIterator#remove()}: the gap follows
+ * the cursor, so every edit near the cursor is cheap and the tail of the list is never shifted. Positional
+ * access with get and set is O(1) anywhere.
+ *
+ * @author Alessandro Marcassa
+ * @see myAdapter.HList
+ */
+public class GapList extends AbstractHList {
+    private Object[] buffer;
+
+    /**
+     * Position of the first free slot of the gap
+     */
+    private int gapStart;
+
+    /**
+     * Position after the last free slot of the gap, where the elements after the gap begin
+     */
+    private int gapEnd;
+
+    public GapList() {
+        this(10);
+    }
+
+    /**
+     * Creates an empty list with the specified capacity
+     *
+     * @param initialCapacity the initial capacity of the list
+     * @throws IllegalArgumentException if initialCapacity is negative
+     */
+    public GapList(int initialCapacity) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+        buffer = new Object[initialCapacity];
+        gapEnd = initialCapacity;
+    }
+
+    /**
+     * Creates a list containing the elements of the specified collection, in the order
+     * returned by its iterator
+     *
+     * @param coll the collection whose elements are placed into this list
+     * @throws NullPointerException if coll is null
+     */
+    public GapList(HCollection coll) {
+        this(coll.size());
+        addAll(coll);
+    }
+
+    public int size() {
+        return buffer.length - (gapEnd - gapStart);
+    }
+
+    public Object get(int index) {
+        rangeCheck(index);
+        return buffer[index < gapStart ? index : index + gapEnd - gapStart];
+    }
+
+    public Object set(int index, Object element) {
+        rangeCheck(index);
+        int pos = index < gapStart ? index : index + gapEnd - gapStart;
+        Object old = buffer[pos];
+        buffer[pos] = element;
+        return old;
+    }
+
+    /**
+     * Moves the gap to index, then fills its first slot.
+     */
+    public void add(int index, Object element) {
+        rangeCheckForAdd(index);
+        moveGap(index);
+        if (gapStart == gapEnd)
+            grow(1);
+        buffer[gapStart++] = element;
+        modCount++;
+    }
+
+    /**
+     * Moves the gap to index, then extends it over the removed element.
+     */
+    public Object remove(int index) {
+        rangeCheck(index);
+        moveGap(index);
+        Object old = buffer[gapEnd];
+        buffer[gapEnd++] = null;
+        modCount++;
+        return old;
+    }
+
+    /**
+     * Moves the gap to index once, then copies all the elements into it.
+     */
+    public boolean addAll(int index, HCollection coll) {
+        rangeCheckForAdd(index);
+        Object[] elements = coll.toArray();
+        int added = elements.length;
+        if (added == 0)
+            return false;
+        moveGap(index);
+        if (gapEnd - gapStart < added)
+            grow(added);
+        System.arraycopy(elements, 0, buffer, gapStart, added);
+        gapStart += added;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Moves the gap to fromIndex, then extends it over the removed elements.
+     */
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex >= toIndex)
+            return;
+        moveGap(fromIndex);
+        int newGapEnd = gapEnd + toIndex - fromIndex;
+        for (int i = gapEnd; i < newGapEnd; i++)
+            buffer[i] = null;
+        gapEnd = newGapEnd;
+        modCount++;
+    }
+
+    public void clear() {
+        for (int i = 0; i < gapStart; i++)
+            buffer[i] = null;
+        for (int i = gapEnd; i < buffer.length; i++)
+            buffer[i] = null;
+        gapStart = 0;
+        gapEnd = buffer.length;
+        modCount++;
+    }
+
+    public Object[] toArray() {
+        Object[] result = new Object[size()];
+        copyInto(result);
+        return result;
+    }
+
+    public Object[] toArray(Object[] arrayTarget) {
+        int size = size();
+        if (arrayTarget.length < size)
+            arrayTarget = newArray(arrayTarget, size);
+        copyInto(arrayTarget);
+        clearTail(arrayTarget, size);
+        return arrayTarget;
+    }
+
+    /**
+     * Copies the elements into the array with two block copies, one for each side of the gap
+     *
+     * @param target the array, at least as long as the list
+     */
+    private void copyInto(Object[] target) {
+        System.arraycopy(buffer, 0, target, 0, gapStart);
+        System.arraycopy(buffer, gapEnd, target, gapStart, buffer.length - gapEnd);
+    }
+
+    /**
+     * Moves the gap so that it begins at index. Only the elements between the old and the new
+     * position of the gap are copied, and the slots they leave become part of the gap.
+     *
+     * @param index the new position of the gap, between 0 and size()
+     */
+    private void moveGap(int index) {
+        if (index < gapStart) {
+            int moved = gapStart - index;
+            int newGapEnd = gapEnd - moved;
+            System.arraycopy(buffer, index, buffer, newGapEnd, moved);
+            clearSlots(index, Math.min(gapStart, newGapEnd));
+            gapStart = index;
+            gapEnd = newGapEnd;
+        } else if (index > gapStart) {
+            int moved = index - gapStart;
+            System.arraycopy(buffer, gapEnd, buffer, gapStart, moved);
+            clearSlots(Math.max(gapEnd, index), gapEnd + moved);
+            gapStart = index;
+            gapEnd += moved;
+        }
+    }
+
+    /**
+     * Sets to null the slots in the range [fromPos, toPos) of the buffer, so that the gap
+     * never keeps references to removed elements
+     */
+    private void clearSlots(int fromPos, int toPos) {
+        for (int i = fromPos; i < toPos; i++)
+            buffer[i] = null;
+    }
+
+    /**
+     * Enlarges the buffer so that the gap can hold at least minGap elements, doubling the capacity
+     *
+     * @param minGap the minimum number of free slots required
+     */
+    private void grow(int minGap) {
+        int size = size();
+        int newCapacity = Math.max(buffer.length * 2, size + minGap);
+        Object[] grown = new Object[newCapacity];
+        int tail = buffer.length - gapEnd;
+        System.arraycopy(buffer, 0, grown, 0, gapStart);
+        System.arraycopy(buffer, gapEnd, grown, newCapacity - tail, tail);
+        buffer = grown;
+        gapEnd = newCapacity - tail;
+    }
+}
@@ -0,0 +1,29 @@
+package myAdapter;
+
+/**
+ * List iterator that can return many elements with a single call, such as the one of {@link myAdapter.ListAdapter}.
+ * <p>
+ * nextBatch copies the next elements into an array supplied by the caller, so a traversal costs one
+ * interface call per batch instead of a call to hasNext and one to next per element. It can be freely
+ * mixed with the methods of {@link myAdapter.HListIterator} during the same iteration.
+ *
+ * @see HListIterator
+ * @see ListAdapter#batchListIterator()
+ */
+public interface HBatchListIterator extends HListIterator {
+
+    /**
+     * Copies up to length of the next elements in the list into buffer, starting at position offset,
+     * and advances the cursor past them. The last element copied becomes the last element returned,
+     * so it can be removed or replaced with remove and set.
+     *
+     * @param buffer the array that receives the elements.
+     * @param offset the position of buffer that receives the first element.
+     * @param length the maximum number of elements to copy.
+     * @return the number of elements copied, 0 if the iteration has no next element.
+     * @exception IndexOutOfBoundsException if offset or length are negative, or offset + length
+     *                                      is greater than buffer.length.
+     * @exception ArrayStoreException if an element can't be stored in buffer because of its runtime type.
+     */
+    int nextBatch(Object[] buffer, int offset, int length);
+}
@@ -0,0 +1,16 @@
+package myAdapter;
+
+/**
+ * An ordering of the elements, used by {@link myAdapter.ListSort} and {@link myAdapter.ParallelLists}.
+ * It takes the place of java.util.Comparator, that isn't available in CLDC.
+ */
+public interface HComparator {
+    /**
+     * Compares two elements.
+     *
+     * @param a the first element, possibly null.
+     * @param b the second element, possibly null.
+     * @return a negative number, zero or a positive number if a is less than, equal to or greater than b.
+     */
+    int compare(Object a, Object b);
+}
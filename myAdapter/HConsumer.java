@@ -0,0 +1,14 @@
+package myAdapter;
+
+/**
+ * An action executed on a single element, used by the bulk operations of {@link myAdapter.ParallelLists}.
+ * It takes the place of java.util.function.Consumer, that isn't available in CLDC.
+ */
+public interface HConsumer {
+    /**
+     * Executes the action on the specified element.
+     *
+     * @param obj the element, possibly null.
+     */
+    void accept(Object obj);
+}
@@ -0,0 +1,48 @@
+package myAdapter;
+
+/**
+ * List iterator specialized for lists of int, such as {@link myAdapter.IntListAdapter}.
+ * <p>
+ * Besides the methods of {@link myAdapter.HListIterator}, which work with Integer objects, it
+ * offers the primitive versions nextInt, previousInt, setInt and addInt that never box the
+ * elements. The two families can be freely mixed during the same iteration.
+ *
+ * @see HListIterator
+ * @see IntListAdapter
+ */
+public interface HIntListIterator extends HListIterator {
+
+    /**
+     * Returns the next element in the list as an int.
+     *
+     * @return the next element in the list.
+     * @exception java.util.NoSuchElementException if the iteration has no next element.
+     */
+    int nextInt();
+
+    /**
+     * Returns the previous element in the list as an int.
+     *
+     * @return the previous element in the list.
+     * @exception java.util.NoSuchElementException if the iteration has no previous element.
+     */
+    int previousInt();
+
+    /**
+     * Replaces the last element returned by next or previous with the specified value.
+     *
+     * @param value the value with which to replace the last element returned.
+     * @exception IllegalStateException if neither next nor previous have been called,
+     *                                  or remove or add have been called after the last call
+     *                                  to next or previous.
+     */
+    void setInt(int value);
+
+    /**
+     * Inserts the specified value into the list, immediately before the element that
+     * would be returned by next.
+     *
+     * @param value the value to insert.
+     */
+    void addInt(int value);
+}
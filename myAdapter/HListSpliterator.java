@@ -0,0 +1,134 @@
+package myAdapter;
+
+import java.util.ConcurrentModificationException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over a range of indexes of an {@link myAdapter.HList}, returned by {@link myAdapter.ListStreams}<br>
+ * <p>
+ * trySplit divides the range in halves without copying anything, so the parts report their exact sizes
+ * (SIZED and SUBSIZED) and keep the order of the list (ORDERED). The elements of a {@link myAdapter.ListAdapter}
+ * and of its sublists are read directly from the array of its Vector, the ones of any other list with get.
+ * <p>
+ * The spliterator binds to the list at its first traversal, split or size estimate, so the modifications done
+ * before are seen. From then on it is fail-fast for the lists that count their structural modifications
+ * (ListAdapter and the subclasses of {@link myAdapter.AbstractHList}): if the list is structurally modified
+ * the traversal throws ConcurrentModificationException, at the latest when it ends.
+ *
+ * @author Alessandro Marcassa
+ */
+final class HListSpliterator implements Spliterator<Object> {
+    private final HList list;
+
+    /**
+     * The array that contains the elements of a ListAdapter, null if they are read with get
+     */
+    private Object[] data;
+
+    /**
+     * Position of the next element, absolute in data or an index of the list
+     */
+    private int index;
+
+    /**
+     * Position after the last element, -1 until the spliterator is bound to the list
+     */
+    private int fence;
+
+    private int expectedModCount;
+
+    HListSpliterator(HList list) {
+        this.list = list;
+        this.fence = -1;
+    }
+
+    private HListSpliterator(HList list, Object[] data, int index, int fence, int expectedModCount) {
+        this.list = list;
+        this.data = data;
+        this.index = index;
+        this.fence = fence;
+        this.expectedModCount = expectedModCount;
+    }
+
+    /**
+     * Binds the spliterator to the list if it isn't bound yet, and returns the fence
+     */
+    private int fence() {
+        if (fence < 0) {
+            int size = list.size();
+            expectedModCount = modCount();
+            if (list instanceof ListAdapter) {
+                ListAdapter adapter = (ListAdapter) list;
+                data = adapter.array();
+                index = adapter.offset();
+            } else
+                index = 0;
+            fence = index + size;
+        }
+        return fence;
+    }
+
+    private int modCount() {
+        if (list instanceof ListAdapter)
+            return ((ListAdapter) list).rootModCount();
+        if (list instanceof AbstractHList)
+            return ((AbstractHList) list).modCount;
+        return 0;
+    }
+
+    private void checkForComodification() {
+        if (modCount() != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    private Object element(int i) {
+        return data != null ? data[i] : list.get(i);
+    }
+
+    public Spliterator<Object> trySplit() {
+        int hi = fence();
+        int lo = index;
+        int mid = (lo + hi) >>> 1;
+        if (lo >= mid)
+            return null;
+        index = mid;
+        return new HListSpliterator(list, data, lo, mid, expectedModCount);
+    }
+
+    public boolean tryAdvance(Consumer<? super Object> action) {
+        if (action == null)
+            throw new NullPointerException();
+        int hi = fence();
+        int i = index;
+        if (i >= hi)
+            return false;
+        index = i + 1;
+        action.accept(element(i));
+        checkForComodification();
+        return true;
+    }
+
+    public void forEachRemaining(Consumer<? super Object> action) {
+        if (action == null)
+            throw new NullPointerException();
+        int hi = fence();
+        int i = index;
+        index = hi;
+        if (data != null)
+            for (Object[] a = data; i < hi; i++)
+                action.accept(a[i]);
+        else
+            for (; i < hi; i++)
+                action.accept(list.get(i));
+        checkForComodification();
+    }
+
+    public long estimateSize() {
+        return fence() - index;
+    }
+
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED;
+    }
+}
@@ -0,0 +1,15 @@
+package myAdapter;
+
+/**
+ * A condition on a single element, used by the bulk operations of {@link myAdapter.ParallelLists}.
+ * It takes the place of java.util.function.Predicate, that isn't available in CLDC.
+ */
+public interface HPredicate {
+    /**
+     * Evaluates the condition on the specified element.
+     *
+     * @param obj the element, possibly null.
+     * @return true if the element satisfies the condition.
+     */
+    boolean test(Object obj);
+}
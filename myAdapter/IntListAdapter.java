@@ -0,0 +1,477 @@
+package myAdapter;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+/**
+ * Implementation of {@link myAdapter.HList} specialized for int values<br>
+ * <p>
+ * The elements are saved in a plain int[] instead of a Vector of Integer objects, so a list of
+ * numbers costs 4 bytes per element and its elements are never allocated on the heap.
+ * The primitive methods (getInt, setInt, addInt, removeIntAt, indexOfInt, lastIndexOfInt, containsInt)
+ * and the primitive iterator {@link myAdapter.HIntListIterator} returned by {@link #intListIterator()}
+ * work without boxing.
+ * <p>
+ * The list can still be used through the HList interface: the methods that take an Object accept only
+ * Integer elements (they throw ClassCastException for other types and NullPointerException for null,
+ * as permitted by HList for ineligible elements), while the methods that return an element box it.
+ *
+ * @author Alessandro Marcassa
+ * @see myAdapter.HList
+ * @see myAdapter.HIntListIterator
+ */
+public class IntListAdapter extends AbstractHList {
+    private int[] elementData;
+    private int elementCount;
+
+    public IntListAdapter() {
+        this(10);
+    }
+
+    /**
+     * Creates an empty list with the specified capacity
+     *
+     * @param initialCapacity the initial capacity of the list
+     * @throws IllegalArgumentException if initialCapacity is negative
+     */
+    public IntListAdapter(int initialCapacity) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+        elementData = new int[initialCapacity];
+    }
+
+    /**
+     * Creates a list containing the elements of the specified collection, in the order
+     * returned by its iterator
+     *
+     * @param coll the collection of Integer whose elements are placed into this list
+     * @throws NullPointerException if coll is null or contains null
+     * @throws ClassCastException   if coll contains an element that isn't an Integer
+     */
+    public IntListAdapter(HCollection coll) {
+        this(coll.size());
+        addAll(coll);
+    }
+
+    // Primitive Operations
+
+    /**
+     * Returns the value at the specified position
+     *
+     * @param index index of the value to return
+     * @return the value at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of range (index &lt; 0 || index &gt;= size())
+     */
+    public int getInt(int index) {
+        rangeCheck(index);
+        return elementData[index];
+    }
+
+    /**
+     * Replaces the value at the specified position
+     *
+     * @param index index of the value to replace
+     * @param value value to be stored at the specified position
+     * @return the value previously at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of range (index &lt; 0 || index &gt;= size())
+     */
+    public int setInt(int index, int value) {
+        rangeCheck(index);
+        int old = elementData[index];
+        elementData[index] = value;
+        return old;
+    }
+
+    /**
+     * Appends the specified value to the end of the list
+     *
+     * @param value value to be appended
+     */
+    public void addInt(int value) {
+        if (elementCount == elementData.length)
+            grow(elementCount + 1);
+        elementData[elementCount++] = value;
+        modCount++;
+    }
+
+    /**
+     * Inserts the specified value at the specified position, shifting the following elements to the right
+     *
+     * @param index index at which the value is to be inserted
+     * @param value value to be inserted
+     * @throws IndexOutOfBoundsException if the index is out of range (index &lt; 0 || index &gt; size())
+     */
+    public void addInt(int index, int value) {
+        rangeCheckForAdd(index);
+        if (elementCount == elementData.length)
+            grow(elementCount + 1);
+        System.arraycopy(elementData, index, elementData, index + 1, elementCount - index);
+        elementData[index] = value;
+        elementCount++;
+        modCount++;
+    }
+
+    /**
+     * Removes the value at the specified position, shifting the following elements to the left
+     *
+     * @param index the index of the value to be removed
+     * @return the removed value
+     * @throws IndexOutOfBoundsException if the index is out of range (index &lt; 0 || index &gt;= size())
+     */
+    public int removeIntAt(int index) {
+        rangeCheck(index);
+        int old = elementData[index];
+        System.arraycopy(elementData, index + 1, elementData, index, elementCount - index - 1);
+        elementCount--;
+        modCount++;
+        return old;
+    }
+
+    /**
+     * Returns the index of the first occurrence of the specified value, or -1 if the list doesn't contain it
+     *
+     * @param value value to search for
+     * @return the index of the first occurrence of value, -1 if not found
+     */
+    public int indexOfInt(int value) {
+        for (int i = 0; i < elementCount; i++)
+            if (elementData[i] == value)
+                return i;
+        return -1;
+    }
+
+    /**
+     * Returns the index of the last occurrence of the specified value, or -1 if the list doesn't contain it
+     *
+     * @param value value to search for
+     * @return the index of the last occurrence of value, -1 if not found
+     */
+    public int lastIndexOfInt(int value) {
+        for (int i = elementCount - 1; i >= 0; i--)
+            if (elementData[i] == value)
+                return i;
+        return -1;
+    }
+
+    /**
+     * Returns true if the list contains the specified value
+     *
+     * @param value value whose presence is to be tested
+     * @return true if the list contains value
+     */
+    public boolean containsInt(int value) {
+        return indexOfInt(value) >= 0;
+    }
+
+    /**
+     * Returns a new array containing the values of the list in proper sequence
+     *
+     * @return an array of int with all the values of the list
+     */
+    public int[] toIntArray() {
+        int[] result = new int[elementCount];
+        System.arraycopy(elementData, 0, result, 0, elementCount);
+        return result;
+    }
+
+    /**
+     * Returns a primitive list iterator positioned at the beginning of the list
+     *
+     * @return a primitive list iterator over the values of the list
+     */
+    public HIntListIterator intListIterator() {
+        return new IntItr(0);
+    }
+
+    /**
+     * Returns a primitive list iterator positioned at the specified index
+     *
+     * @param index index of the first value returned by nextInt
+     * @return a primitive list iterator over the values of the list
+     * @throws IndexOutOfBoundsException if the index is out of range (index &lt; 0 || index &gt; size())
+     */
+    public HIntListIterator intListIterator(int index) {
+        rangeCheckForAdd(index);
+        return new IntItr(index);
+    }
+
+    // Capacity
+
+    /**
+     * Increases the capacity of the list, if necessary, to hold at least minCapacity values
+     *
+     * @param minCapacity the desired minimum capacity
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elementData.length)
+            grow(minCapacity);
+    }
+
+    /**
+     * Trims the capacity of the list to its current size
+     */
+    public void trimToSize() {
+        if (elementCount < elementData.length) {
+            int[] trimmed = new int[elementCount];
+            System.arraycopy(elementData, 0, trimmed, 0, elementCount);
+            elementData = trimmed;
+        }
+    }
+
+    private void grow(int minCapacity) {
+        int newCapacity = elementData.length * 2;
+        if (newCapacity < minCapacity)
+            newCapacity = minCapacity;
+        int[] grown = new int[newCapacity];
+        System.arraycopy(elementData, 0, grown, 0, elementCount);
+        elementData = grown;
+    }
+
+    // HList Operations
+
+    public int size() {
+        return elementCount;
+    }
+
+    public boolean isEmpty() {
+        return elementCount == 0;
+    }
+
+    public boolean contains(Object obj) {
+        return obj instanceof Integer && containsInt(((Integer) obj).intValue());
+    }
+
+    public Object[] toArray() {
+        Object[] result = new Object[elementCount];
+        for (int i = 0; i < elementCount; i++)
+            result[i] = new Integer(elementData[i]);
+        return result;
+    }
+
+    public Object[] toArray(Object[] arrayTarget) {
+        if (arrayTarget.length < elementCount)
+            arrayTarget = newArray(arrayTarget, elementCount);
+        for (int i = 0; i < elementCount; i++)
+            arrayTarget[i] = new Integer(elementData[i]);
+        clearTail(arrayTarget, elementCount);
+        return arrayTarget;
+    }
+
+    public boolean add(Object obj) {
+        addInt(((Integer) obj).intValue());
+        return true;
+    }
+
+    public boolean remove(Object obj) {
+        if (!(obj instanceof Integer))
+            return false;
+        int index = indexOfInt(((Integer) obj).intValue());
+        if (index < 0)
+            return false;
+        removeIntAt(index);
+        return true;
+    }
+
+    /**
+     * Inserts all the elements of coll with a single shift of the tail. The elements are
+     * converted before the list is modified, so an ineligible element leaves the list unchanged.
+     */
+    public boolean addAll(int index, HCollection coll) {
+        rangeCheckForAdd(index);
+        int[] values;
+        if (coll instanceof IntListAdapter) {
+            values = ((IntListAdapter) coll).toIntArray();
+        } else {
+            Object[] elements = coll.toArray();
+            values = new int[elements.length];
+            for (int i = 0; i < elements.length; i++)
+                values[i] = ((Integer) elements[i]).intValue();
+        }
+        int added = values.length;
+        if (added == 0)
+            return false;
+        ensureCapacity(elementCount + added);
+        System.arraycopy(elementData, index, elementData, index + added, elementCount - index);
+        System.arraycopy(values, 0, elementData, index, added);
+        elementCount += added;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Keeps or removes the elements according to coll with a single compaction of the array.
+     */
+    boolean batchRemove(HCollection coll, boolean retain) {
+        if (coll == null)
+            throw new NullPointerException();
+        IntListAdapter ints = coll instanceof IntListAdapter ? (IntListAdapter) coll : null;
+        int kept = 0;
+        for (int i = 0; i < elementCount; i++) {
+            int value = elementData[i];
+            boolean found = ints != null ? ints.containsInt(value) : coll.contains(new Integer(value));
+            if (found == retain)
+                elementData[kept++] = value;
+        }
+        if (kept == elementCount)
+            return false;
+        elementCount = kept;
+        modCount++;
+        return true;
+    }
+
+    public void clear() {
+        elementCount = 0;
+        modCount++;
+    }
+
+    protected void removeRange(int fromIndex, int toIndex) {
+        System.arraycopy(elementData, toIndex, elementData, fromIndex, elementCount - toIndex);
+        elementCount -= toIndex - fromIndex;
+        modCount++;
+    }
+
+    public Object get(int index) {
+        return new Integer(getInt(index));
+    }
+
+    public Object set(int index, Object element) {
+        return new Integer(setInt(index, ((Integer) element).intValue()));
+    }
+
+    public void add(int index, Object element) {
+        addInt(index, ((Integer) element).intValue());
+    }
+
+    public Object remove(int index) {
+        return new Integer(removeIntAt(index));
+    }
+
+    public int indexOf(Object obj) {
+        return obj instanceof Integer ? indexOfInt(((Integer) obj).intValue()) : -1;
+    }
+
+    public int lastIndexOf(Object obj) {
+        return obj instanceof Integer ? lastIndexOfInt(((Integer) obj).intValue()) : -1;
+    }
+
+    /**
+     * The returned iterator is a {@link myAdapter.HIntListIterator}.
+     */
+    public HListIterator listIterator(int index) {
+        return intListIterator(index);
+    }
+
+    public boolean equals(Object obj) {
+        if (obj == this)
+            return true;
+        if (!(obj instanceof IntListAdapter))
+            return super.equals(obj);
+        IntListAdapter other = (IntListAdapter) obj;
+        if (other.elementCount != elementCount)
+            return false;
+        for (int i = 0; i < elementCount; i++)
+            if (elementData[i] != other.elementData[i])
+                return false;
+        return true;
+    }
+
+    /**
+     * The hash code of an Integer is its value, so the result is the one defined by HList.
+     */
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < elementCount; i++)
+            hash = 31 * hash + elementData[i];
+        return hash;
+    }
+
+    /**
+     * Primitive list iterator, it works directly on the array of the list.
+     */
+    private class IntItr implements HIntListIterator {
+        int cursor;
+        int lastRet = -1;
+        int expectedModCount = modCount;
+
+        IntItr(int index) {
+            cursor = index;
+        }
+
+        public boolean hasNext() {
+            return cursor < elementCount;
+        }
+
+        public int nextInt() {
+            checkForComodification();
+            if (cursor >= elementCount)
+                throw new NoSuchElementException();
+            lastRet = cursor++;
+            return elementData[lastRet];
+        }
+
+        public Object next() {
+            return new Integer(nextInt());
+        }
+
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        public int previousInt() {
+            checkForComodification();
+            if (cursor <= 0)
+                throw new NoSuchElementException();
+            lastRet = --cursor;
+            return elementData[cursor];
+        }
+
+        public Object previous() {
+            return new Integer(previousInt());
+        }
+
+        public int nextIndex() {
+            return cursor;
+        }
+
+        public int previousIndex() {
+            return cursor - 1;
+        }
+
+        public void remove() {
+            if (lastRet < 0)
+                throw new IllegalStateException();
+            checkForComodification();
+            removeIntAt(lastRet);
+            cursor = lastRet;
+            lastRet = -1;
+            expectedModCount = modCount;
+        }
+
+        public void setInt(int value) {
+            if (lastRet < 0)
+                throw new IllegalStateException();
+            checkForComodification();
+            elementData[lastRet] = value;
+        }
+
+        public void set(Object obj) {
+            setInt(((Integer) obj).intValue());
+        }
+
+        public void addInt(int value) {
+            checkForComodification();
+            IntListAdapter.this.addInt(cursor++, value);
+            lastRet = -1;
+            expectedModCount = modCount;
+        }
+
+        public void add(Object obj) {
+            addInt(((Integer) obj).intValue());
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+    }
+}
@@ -7,9 +7,11 @@
  *
  * @author Alessandro Marcassa
  * @see myAdapter.HList Interface: HList
- */ 
+ */
 package myAdapter;
 
+import java.util.ConcurrentModificationException;
+import java.util.Hashtable;
 import java.util.NoSuchElementException;
 
 public class ListAdapter implements HList, HCollection {
@@ -17,51 +19,182 @@ public class ListAdapter implements HList, HCollection {
     private Vector list;
     boolean isFather;
 
+    /**
+     * La lista principale, il cui Vector contiene gli elementi di tutte le sottoliste
+     */
+    private ListAdapter root;
+
+    /**
+     * La lista da cui è stata ottenuta questa sottolista, null per la lista principale
+     */
+    private ListAdapter parent;
+
+    /**
+     * Nella lista principale conta le modifiche strutturali; in una sottolista è il valore
+     * atteso di quello della lista principale, e se differisce la sottolista non è più valida
+     */
+    int modCount;
+
+    /**
+     * Nella lista principale, hash memorizzato: nei 32 bit alti l'hash code dei primi elementi secondo
+     * la formula di HList, nei 32 bit bassi il numero di questi elementi. Torna a {@link #NO_HASH} quando
+     * viene modificato uno degli elementi inclusi, e l'hash deve essere ricalcolato da capo.
+     * Le due parti vengono lette e pubblicate con un solo accesso al campo volatile, così più thread
+     * che chiamano hashCode insieme non possono memorizzare un hash che non corrisponde al suo conteggio.
+     */
+    private volatile long hashState = NO_HASH;
+
+    /**
+     * Hash memorizzato di nessun elemento: hash 1, conteggio 0
+     */
+    private static final long NO_HASH = 1L << 32;
+
+    /**
+     * Nella lista principale in modalità indicizzata, tabella che associa a ogni elemento dei primi
+     * indexed le posizioni della sua prima e della sua ultima occorrenza; null se la modalità è disattivata.
+     * Dopo una modifica una posizione può restare stimata: ~p indica che la prima occorrenza non precede p,
+     * o che l'ultima non segue p, e viene completata alla prima ricerca dell'elemento.
+     * La tabella fa anche da lock per tutti i suoi aggiornamenti
+     */
+    private volatile Hashtable index;
+
+    /**
+     * Nella lista principale, numero di elementi già inclusi in index; letto e scritto solo tenendo il lock di index
+     */
+    private int indexed;
+
+    /**
+     * Nella lista principale, fattore di crescita della capacità del Vector; 0 se il Vector cresce
+     * secondo la sua politica (raddoppio o incremento fisso)
+     */
+    private float growthFactor;
+
+    /**
+     * Nella lista principale, frazione di occupazione sotto la quale la capacità del Vector viene ridotta;
+     * 0 se la capacità non viene mai ridotta
+     */
+    private float shrinkThreshold;
+
+    /**
+     * Nella lista principale, capacità sotto la quale il Vector non viene mai ridotto
+     */
+    private int minCapacity;
+
     public ListAdapter() {
+        this(new Vector());
+    }
+
+    /**
+     * Crea una lista vuota il cui Vector ha la capacità iniziale specificata e raddoppia quando è pieno.
+     *
+     * @param initialCapacity la capacità iniziale del Vector
+     * @throws IllegalArgumentException se initialCapacity è negativa
+     */
+    public ListAdapter(int initialCapacity) {
+        this(new Vector(initialCapacity));
+    }
+
+    /**
+     * Crea una lista vuota il cui Vector ha la capacità iniziale specificata e cresce dell'incremento
+     * specificato quando è pieno; con un incremento minore o uguale a 0 la capacità raddoppia.
+     *
+     * @param initialCapacity la capacità iniziale del Vector
+     * @param capacityIncrement l'aumento della capacità a ogni crescita
+     * @throws IllegalArgumentException se initialCapacity è negativa
+     */
+    public ListAdapter(int initialCapacity, int capacityIncrement) {
+        this(new Vector(initialCapacity, capacityIncrement));
+    }
+
+    /**
+     * Crea una lista che usa come adaptee il Vector specificato.
+     * Passando un {@link myAdapter.ArrayVector} si ottiene una lista senza
+     * sincronizzazione, più veloce se usata da un solo thread.
+     * Gli elementi già presenti nel Vector diventano gli elementi della lista.
+     *
+     * @param adaptee il Vector in cui vengono memorizzati gli elementi
+     * @throws NullPointerException se adaptee è null
+     */
+    public ListAdapter(Vector adaptee) {
+        if(adaptee == null)
+            throw new NullPointerException();
         from = 0;
         to = 0;
-        list = new Vector();
+        list = adaptee;
+        isFather = true;
+        root = this;
+        minCapacity = adaptee.capacity();
+    }
+
+    /**
+     * Crea una lista contenente gli elementi della collezione specificata, nell'ordine
+     * restituito dal suo iteratore. Il Vector viene creato già della dimensione necessaria.
+     *
+     * @param coll la collezione i cui elementi vengono inseriti nella lista
+     * @throws NullPointerException se coll è null
+     */
+    public ListAdapter(HCollection coll) {
+        this(new Vector(coll.size()));
+        addAll(coll);
+    }
+
+    /**
+     * Crea la sottolista di parent compresa tra fromIndex (incluso) e toIndex (escluso).
+     * Gli estremi vengono convertiti in posizioni assolute del Vector della lista principale,
+     * così anche una sottolista di una sottolista accede agli elementi in tempo costante.
+     *
+     * @param parent la lista da cui viene creata la sottolista
+     * @param fromIndex estremo inferiore, relativo a parent
+     * @param toIndex estremo superiore, relativo a parent
+     */
+    private ListAdapter(ListAdapter parent, int fromIndex, int toIndex) {
+        this.parent = parent;
+        root = parent.root;
+        list = parent.list;
+        from = parent.from + fromIndex;
+        to = parent.from + toIndex;
+        isFather = false;
+        modCount = root.modCount;
     }
 
     // Query Operations
 
     /**
      * Ritorna il numero degli elementi della lista.
-     * Se la lista contiene più di n° Integer.MAX_VALUE elementi, il metodo 
+     * Se la lista contiene più di n° Integer.MAX_VALUE elementi, il metodo
      * ritorna automaticamente il numero Integer.MAX_VALUE
-     * 
+     *
      * @return Il numero degli elementi della lista.
      */
 
     @Override
     public int size(){
-        //Semplicemente chiamo il metodo della classe Vector che 
-        //indica quanti elementi sono presenti nel Vector. Tale numero
-        //corrisponde al numero degli elementi della lista
-        return list.size();
+        //Per la lista principale chiamo semplicemente il metodo della classe Vector
+        //che indica quanti elementi sono presenti nel Vector; una sottolista
+        //contiene invece gli elementi compresi tra i suoi due estremi
+        if(isFather)
+            return list.size();
+        checkForComodification();
+        return to - from;
     }
     /**
      * Ritorna vero se la lista non contiene elementi.
-     * 
+     *
      * @return vero se la lista non contiene elementi
      */
     @Override
     public boolean isEmpty(){
-        //Semplicemente chiamo il metodo della classe Vector che
-        //indica se il Vector è vuoto.
-        return list.isEmpty();
+        return size() == 0;
     }
     /**
      * Ritorna vero se la lista contiene l'elemento specificato.
-     * 
+     *
      * @param obj è l'emento che deve essere trovato nella lista
      * @return true se la lista contiene l'elemento specificato
      */
     @Override
     public boolean contains(Object obj){
-        //Riutilizzo il metodo della classe Vector per sapere se 
-        //la collezione contiene l'elemento obj
-        return list.contains(obj);
+        return indexOf(obj) >= 0;
     }
 
     @Override
@@ -69,132 +202,1211 @@ public class ListAdapter implements HList, HCollection {
         return listIterator();
     }
 
+    /**
+     * Ritorna un array contenente tutti gli elementi della lista nell'ordine corretto.
+     *
+     * @return un nuovo array con gli elementi della lista
+     */
     @Override
     public Object[] toArray(){
-        return null;
+        //Copio gli elementi compresi tra gli estremi con una sola copia a blocco
+        int size = size();
+        Object[] result = new Object[size];
+        System.arraycopy(list.array(), from, result, 0, size);
+        return result;
     }
 
+    /**
+     * Ritorna un array contenente tutti gli elementi della lista nell'ordine corretto; il tipo a runtime
+     * dell'array ritornato è quello dell'array specificato. Se la lista entra nell'array specificato gli
+     * elementi vengono copiati in esso senza allocazioni intermedie, e tutte le posizioni successive
+     * all'ultimo elemento vengono impostate a null; altrimenti viene allocato una sola volta un nuovo array
+     * dello stesso tipo a runtime e della dimensione della lista.
+     *
+     * @param arrayTarget l'array in cui copiare gli elementi, se abbastanza grande
+     * @return un array con gli elementi della lista
+     * @throws ArrayStoreException se il tipo a runtime dell'array non è un supertipo del tipo di ogni elemento
+     * @throws NullPointerException se l'array specificato è null
+     */
     @Override
     public Object[] toArray(Object arrayTarget[]){
-        return null;
+        int size = size();
+        //Alloco un nuovo array solo se quello fornito non basta, mantenendone il tipo a runtime
+        if(arrayTarget.length < size)
+            arrayTarget = AbstractHList.newArray(arrayTarget, size);
+        System.arraycopy(list.array(), from, arrayTarget, 0, size);
+        AbstractHList.clearTail(arrayTarget, size);
+        return arrayTarget;
     }
 
     // Modification Operations
 
     /**
-     * Aggiunge l'elemento specificato alla fine della lista
-     * 
+     * Aggiunge l'elemento specificato alla fine della lista.
+     * Come richiesto dal contratto di HList la lista ammette duplicati,
+     * quindi l'inserimento non richiede alcuna ricerca e costa O(1) ammortizzato
+     *
      * @param obj l'elemento da aggiungere alla lista
-     * @return true se l'elemento non è presente nella lista
+     * @return true (come da contratto generale di HCollection.add)
      */
-    @Override 
+    @Override
     public boolean add(Object obj){
-        if(list.contains(obj))
-            return false;
-        else{
+        if(isFather){
+            if(growthFactor != 0)
+                ensureRoom(1);
             list.addElement(obj);
-            return true;
+            modCount++;
+            //Una ricerca concorrente (le letture ottimistiche di StampedList) potrebbe aver già indicizzato
+            //la nuova posizione prima che l'elemento fosse scritto
+            if(index != null)
+                contentChanged(list.size() - 1);
         }
+        else
+            add(size(), obj);
+        return true;
     }
 
+    /**
+     * Rimuove dalla lista la prima occorrenza dell'elemento specificato, se presente.
+     *
+     * @param obj l'elemento da rimuovere
+     * @return true se la lista conteneva l'elemento
+     */
     @Override
     public boolean remove(Object obj){
-        return list.removeElement(obj);
+        int index = indexOf(obj);
+        if(index < 0)
+            return false;
+        remove(index);
+        return true;
     }
 
     // Bulk Operations
 
+    /**
+     * Ritorna vero se la lista contiene tutti gli elementi della collezione specificata.
+     * Gli elementi della lista vengono inseriti in una tabella hash temporanea, così ogni
+     * elemento di coll viene cercato in tempo costante: il costo è O(n+m) invece di O(n·m).
+     *
+     * @param coll la collezione i cui elementi devono essere cercati nella lista
+     * @return true se la lista contiene tutti gli elementi di coll
+     * @throws NullPointerException se coll è null
+     */
     @Override
     public boolean containsAll(HCollection coll){
-        return false;
+        if(coll == null)
+            throw new NullPointerException();
+        Object[] elements = coll.toArray();
+        if(elements.length == 0)
+            return true;
+        //In modalità indicizzata la lista principale usa la sua tabella
+        Hashtable table = isFather ? index() : null;
+        if(table != null){
+            for(int i = 0; i < elements.length; i++)
+                if(positions(table, elements[i]) == null)
+                    return false;
+            return true;
+        }
+        Hashtable lookup = lookup(list.array(), from, from + size());
+        for(int i = 0; i < elements.length; i++)
+            if(!lookup.containsKey(key(elements[i])))
+                return false;
+        return true;
     }
 
+    /**
+     * Aggiunge alla fine della lista tutti gli elementi della collezione specificata,
+     * nell'ordine restituito dal suo iteratore.
+     *
+     * @param coll la collezione i cui elementi devono essere aggiunti
+     * @return true se la lista è stata modificata
+     * @throws NullPointerException se coll è null
+     */
     @Override
     public boolean addAll(HCollection coll){
-        return false;
+        return addAll(size(), coll);
     }
 
+    /**
+     * Inserisce tutti gli elementi della collezione specificata a partire dalla posizione indicata,
+     * spostando a destra gli elementi successivi.
+     * La capacità del Vector viene riservata una sola volta, la coda della lista viene spostata
+     * una sola volta e gli elementi vengono copiati a blocco: inserire k elementi in una lista di
+     * n elementi costa O(n+k).
+     *
+     * @param index la posizione in cui inserire il primo elemento di coll
+     * @param coll la collezione i cui elementi devono essere aggiunti
+     * @return true se la lista è stata modificata
+     * @throws NullPointerException se coll è null
+     * @throws IndexOutOfBoundsException se index &lt; 0 o index &gt; size()
+     */
     @Override
     public boolean addAll(int index, HCollection coll){
-        return false;
+        if(coll == null)
+            throw new NullPointerException();
+        rangeCheckForAdd(index);
+        //Fotografo gli elementi prima di modificare la lista (coll potrebbe essere la lista stessa)
+        Object[] elements = coll.toArray();
+        int added = elements.length;
+        if(added == 0)
+            return false;
+        ensureRoom(added);
+        int size = list.size();
+        int at = from + index;
+        truncateIndex(at);
+        list.ensureCapacity(size + added);
+        list.setSize(size + added);
+        //L'array va letto dopo setSize perché il Vector potrebbe averlo sostituito
+        Object[] data = list.array();
+        System.arraycopy(data, at, data, at + added, size - at);
+        System.arraycopy(elements, 0, data, at, added);
+        contentChanged(at);
+        structuralChange(added);
+        return true;
     }
 
+    /**
+     * Rimuove dalla lista tutti gli elementi contenuti anche nella collezione specificata.
+     * Gli elementi di coll vengono inseriti in una tabella hash temporanea e la lista viene
+     * compattata con una sola passata sul Vector: il costo è O(n+m).
+     *
+     * @param coll la collezione degli elementi da rimuovere
+     * @return true se la lista è stata modificata
+     * @throws NullPointerException se coll è null
+     */
     @Override
     public boolean removeAll(HCollection coll){
-        return false;
+        return batchRemove(coll, false);
     }
 
+    /**
+     * Mantiene nella lista solo gli elementi contenuti anche nella collezione specificata.
+     * Come removeAll costa O(n+m): una tabella hash su coll e una sola compattazione del Vector.
+     *
+     * @param coll la collezione degli elementi da mantenere
+     * @return true se la lista è stata modificata
+     * @throws NullPointerException se coll è null
+     */
     @Override
     public boolean retainAll(HCollection coll){
-        return false;
+        return batchRemove(coll, true);
     }
 
+    /**
+     * Compatta la lista mantenendo gli elementi la cui presenza in coll è uguale a retain.
+     * Gli elementi mantenuti vengono spostati in avanti nello stesso array, quindi ogni
+     * elemento viene letto e scritto al massimo una volta.
+     *
+     * @param coll la collezione usata come filtro
+     * @param retain true per mantenere gli elementi di coll, false per rimuoverli
+     * @return true se la lista è stata modificata
+     */
+    private boolean batchRemove(HCollection coll, boolean retain){
+        if(coll == null)
+            throw new NullPointerException();
+        Object[] elements = coll.toArray();
+        Hashtable lookup = lookup(elements, 0, elements.length);
+        int end = from + size();
+        Object[] data = list.array();
+        int kept = from;
+        for(int i = from; i < end; i++){
+            Object e = data[i];
+            if(lookup.containsKey(key(e)) == retain)
+                data[kept++] = e;
+            else if(kept == i){
+                //Il primo elemento rimosso: da qui in poi l'array verrà compattato
+                truncateIndex(i);
+                contentChanged(i);
+            }
+        }
+        if(kept == end)
+            return false;
+        removeGap(kept, end);
+        return true;
+    }
+
+    /**
+     * Rimuove tutti gli elementi della lista
+     */
     @Override
     public void clear(){
-        list.removeAllElements();
+        if(isFather){
+            truncateIndex(0);
+            list.removeAllElements();
+            contentChanged(0);
+            modCount++;
+            shrink();
+        }
+        else
+            removeGap(from, from + size());
     }
 
     // Comparison and hashing
 
+    /**
+     * Ritorna vero se obj è una HList con gli stessi elementi nello stesso ordine, qualunque sia
+     * la sua implementazione.
+     * Il confronto termina subito se le dimensioni sono diverse, oppure se entrambe le liste sono
+     * ListAdapter principali con un hash memorizzato e aggiornato, e gli hash sono diversi.
+     * Tra due ListAdapter gli elementi vengono confrontati direttamente sugli array dei Vector,
+     * con le altre HList attraverso il loro iteratore.
+     *
+     * @param obj l'oggetto da confrontare con la lista
+     * @return true se obj è una lista uguale a questa
+     */
     @Override
     public boolean equals(Object obj){
-        return list.equals(obj);
+        if(obj == this)
+            return true;
+        if(!(obj instanceof HList))
+            return false;
+        HList other = (HList) obj;
+        int size = size();
+        if(other.size() != size)
+            return false;
+        Object[] data = list.array();
+        if(other instanceof ListAdapter){
+            ListAdapter o = (ListAdapter) other;
+            //Confronto gli hash solo se entrambi sono memorizzati e includono tutti gli elementi
+            long mine = hashState;
+            long theirs = o.hashState;
+            if(isFather && o.isFather && (int) mine == size && (int) theirs == size && mine != theirs)
+                return false;
+            Object[] otherData = o.list.array();
+            for(int i = from, j = o.from, end = from + size; i < end; i++, j++)
+                if(!eq(data[i], otherData[j]))
+                    return false;
+            return true;
+        }
+        HIterator it = other.iterator();
+        for(int i = from, end = from + size; i < end; i++)
+            if(!it.hasNext() || !eq(data[i], it.next()))
+                return false;
+        return !it.hasNext();
+    }
+
+    /**
+     * Uguaglianza di due elementi come definita dalle collezioni: entrambi null o uguali
+     */
+    private static boolean eq(Object a, Object b){
+        return a == b || (a != null && a.equals(b));
     }
 
+    /**
+     * Ritorna l'hash code della lista, calcolato come definito in HList.
+     * La lista principale memorizza l'hash dei primi elementi e lo aggiorna solo quando serve:
+     * se dall'ultima chiamata sono stati solo aggiunti elementi in fondo, vengono elaborati solo
+     * quelli nuovi, e se la lista non è cambiata la chiamata costa O(1). Ogni modifica di un
+     * elemento già incluso nell'hash (set, inserimenti e rimozioni prima della fine) invalida
+     * l'hash memorizzato, che viene ricalcolato da capo alla chiamata successiva.
+     * L'hash memorizzato non vede le modifiche fatte al Vector senza passare per la lista, né
+     * i cambiamenti dell'hash code degli elementi mentre sono nella lista.
+     * Più thread possono chiamare hashCode insieme finché nessuno modifica la lista.
+     * Una sottolista calcola l'hash dei suoi elementi a ogni chiamata.
+     *
+     * @return l'hash code della lista
+     */
     @Override
     public int hashCode(){
-        return list.hashCode();
+        if(!isFather)
+            return hash(1, list.array(), from, from + size());
+        int size = list.size();
+        //Lavoro su copie locali e pubblico la nuova coppia (hash, conteggio) con una sola scrittura
+        long state = hashState;
+        int hash = (int) (state >>> 32);
+        int hashed = (int) state;
+        //Il Vector potrebbe essere stato accorciato senza passare per la lista
+        if(hashed > size){
+            hash = 1;
+            hashed = 0;
+        }
+        if(hashed < size){
+            hash = hash(hash, list.array(), hashed, size);
+            hashState = ((long) hash << 32) | (size & 0xFFFFFFFFL);
+        }
+        return hash;
+    }
+
+    /**
+     * Prosegue il calcolo dell'hash code con gli elementi dell'array nell'intervallo [from, to)
+     *
+     * @param hash l'hash degli elementi precedenti, 1 se non ce ne sono
+     * @param data l'array di elementi
+     * @param from la posizione del primo elemento
+     * @param to la posizione successiva all'ultimo elemento
+     * @return l'hash degli elementi precedenti seguiti da quelli dell'intervallo
+     */
+    private static int hash(int hash, Object[] data, int from, int to){
+        for(int i = from; i < to; i++){
+            Object e = data[i];
+            hash = 31 * hash + (e == null ? 0 : e.hashCode());
+        }
+        return hash;
     }
 
     // Positional Access Operations
 
+    /**
+     * Ritorna l'elemento nella posizione specificata.
+     * Anche in una sottolista l'elemento viene letto direttamente dal Vector in tempo costante
+     *
+     * @param index la posizione dell'elemento
+     * @return l'elemento nella posizione specificata
+     * @throws IndexOutOfBoundsException se index &lt; 0 o index &gt;= size()
+     */
     @Override
     public Object get(int index){
-        return list.elementAt(index);
+        rangeCheck(index);
+        return list.elementAt(from + index);
     }
 
+    /**
+     * Sostituisce l'elemento nella posizione specificata.
+     *
+     * @param index la posizione dell'elemento da sostituire
+     * @param element l'elemento da memorizzare nella posizione specificata
+     * @return l'elemento che si trovava nella posizione specificata
+     * @throws IndexOutOfBoundsException se index &lt; 0 o index &gt;= size()
+     */
     @Override
     public Object set(int index, Object element){
-        return null;
+        rangeCheck(index);
+        Object old = list.elementAt(from + index);
+        list.setElementAt(element, from + index);
+        elementChanged(from + index, old, element);
+        return old;
     }
 
+    /**
+     * Inserisce l'elemento nella posizione specificata, spostando a destra gli elementi successivi.
+     *
+     * @param index la posizione in cui inserire l'elemento
+     * @param element l'elemento da inserire
+     * @throws IndexOutOfBoundsException se index &lt; 0 o index &gt; size()
+     */
     @Override
     public void add(int index, Object element){
-        
+        rangeCheckForAdd(index);
+        ensureRoom(1);
+        truncateIndex(from + index);
+        list.insertElementAt(element, from + index);
+        contentChanged(from + index);
+        structuralChange(1);
     }
 
+    /**
+     * Rimuove l'elemento nella posizione specificata, spostando a sinistra gli elementi successivi.
+     *
+     * @param index la posizione dell'elemento da rimuovere
+     * @return l'elemento rimosso
+     * @throws IndexOutOfBoundsException se index &lt; 0 o index &gt;= size()
+     */
     @Override
     public Object remove(int index){
-        return null; //removeElementAt(index);
+        rangeCheck(index);
+        Object old = list.elementAt(from + index);
+        truncateIndex(from + index);
+        list.removeElementAt(from + index);
+        contentChanged(from + index);
+        structuralChange(-1);
+        shrink();
+        return old;
     }
 
+    /**
+     * Ritorna la posizione della prima occorrenza dell'elemento specificato, -1 se non è presente.
+     *
+     * @param obj l'elemento da cercare
+     * @return la posizione della prima occorrenza di obj, -1 se non è presente
+     */
     @Override
     public int indexOf(Object obj){
-        return list.indexOf(obj);
+        int end = from + size();
+        Hashtable table = index();
+        if(table != null){
+            //In una sottolista la tabella basta se la prima occorrenza è tra i suoi estremi,
+            //o se l'elemento non compare tra i suoi estremi
+            int[] positions = positions(table, obj);
+            if(positions == null || positions[0] >= end || positions[1] < from)
+                return -1;
+            if(positions[0] >= from)
+                return positions[0] - from;
+        }
+        else if(isFather)
+            return list.indexOf(obj);
+        //In una sottolista cerco solo tra i suoi estremi
+        Object[] data = list.array();
+        for(int i = from; i < end; i++)
+            if(obj == null ? data[i] == null : obj.equals(data[i]))
+                return i - from;
+        return -1;
     }
 
+    /**
+     * Ritorna la posizione dell'ultima occorrenza dell'elemento specificato, -1 se non è presente.
+     *
+     * @param obj l'elemento da cercare
+     * @return la posizione dell'ultima occorrenza di obj, -1 se non è presente
+     */
     @Override
     public int lastIndexOf(Object obj){
-        return list.lastIndexOf(obj);
+        int end = from + size();
+        Hashtable table = index();
+        if(table != null){
+            int[] positions = positions(table, obj);
+            if(positions == null || positions[0] >= end || positions[1] < from)
+                return -1;
+            if(positions[1] < end)
+                return positions[1] - from;
+        }
+        else if(isFather)
+            return list.lastIndexOf(obj);
+        Object[] data = list.array();
+        for(int i = end - 1; i >= from; i--)
+            if(obj == null ? data[i] == null : obj.equals(data[i]))
+                return i - from;
+        return -1;
     }
 
     // List Iterators
 
+    /**
+     * Ritorna un iteratore sugli elementi della lista, posizionato all'inizio della lista.
+     *
+     * @return un iteratore sugli elementi della lista
+     */
     @Override
     public HListIterator listIterator(){
-        return null;
+        return listIterator(0);
     }
 
+    /**
+     * Ritorna un iteratore sugli elementi della lista, posizionato in modo che la prima
+     * chiamata a next restituisca l'elemento nella posizione specificata.
+     *
+     * @param index la posizione del primo elemento restituito da next
+     * @return un iteratore sugli elementi della lista
+     * @throws IndexOutOfBoundsException se index &lt; 0 o index &gt; size()
+     */
     @Override
     public HListIterator listIterator(int index){
-        return null;
+        rangeCheckForAdd(index);
+        return new ListIteratorAdapter(from + index);
+    }
+
+    /**
+     * Ritorna un iteratore sugli elementi della lista, posizionato all'inizio della lista, che può
+     * restituire molti elementi con una sola chiamata a {@link HBatchListIterator#nextBatch(Object[], int, int)}.
+     *
+     * @return un iteratore a blocchi sugli elementi della lista
+     */
+    public HBatchListIterator batchListIterator(){
+        return batchListIterator(0);
+    }
+
+    /**
+     * Ritorna un iteratore a blocchi sugli elementi della lista, posizionato in modo che la prima
+     * chiamata a next o nextBatch restituisca l'elemento nella posizione specificata.
+     *
+     * @param index la posizione del primo elemento restituito
+     * @return un iteratore a blocchi sugli elementi della lista
+     * @throws IndexOutOfBoundsException se index &lt; 0 o index &gt; size()
+     */
+    public HBatchListIterator batchListIterator(int index){
+        rangeCheckForAdd(index);
+        return new ListIteratorAdapter(from + index);
     }
 
     // View
 
+    /**
+     * Ritorna una vista della porzione della lista compresa tra fromIndex (incluso) e toIndex (escluso).
+     * La vista condivide il Vector della lista principale, quindi crearla costa O(1) e ogni modifica
+     * fatta attraverso la vista si riflette sulla lista. Gli estremi vengono memorizzati come
+     * posizioni assolute, così get e set costano O(1) a qualunque livello di annidamento.
+     * Se la lista viene modificata strutturalmente senza passare per la vista, la vista non è più
+     * valida e ogni sua operazione lancia ConcurrentModificationException.
+     *
+     * @param fromIndex estremo inferiore (incluso) della sottolista
+     * @param toIndex estremo superiore (escluso) della sottolista
+     * @return la vista della porzione della lista
+     * @throws IndexOutOfBoundsException se fromIndex &lt; 0, toIndex &gt; size() o fromIndex &gt; toIndex
+     */
     @Override
     public HList subList(int fromIndex, int toIndex){
-        return null;
+        if(fromIndex < 0 || toIndex > size() || fromIndex > toIndex)
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", Size: " + size());
+        return new ListAdapter(this, fromIndex, toIndex);
+    }
+
+    // Capacity management
+
+    /**
+     * Ritorna il numero di elementi che il Vector può contenere senza allocare un nuovo array.
+     *
+     * @return la capacità del Vector della lista principale
+     */
+    public int capacity(){
+        return list.capacity();
+    }
+
+    /**
+     * Riduce la capacità del Vector al numero di elementi della lista principale, liberando la memoria
+     * inutilizzata (anche se chiamato su una sottolista). Come ogni sostituzione dell'array del Vector è
+     * una modifica strutturale, e invalida gli iteratori aperti e le altre sottoliste.
+     */
+    public void trimToSize(){
+        list.trimToSize();
+        structuralChange(0);
+    }
+
+    /**
+     * Imposta il fattore di crescita della lista principale (anche se chiamato su una sottolista): quando il
+     * Vector è pieno la sua capacità viene moltiplicata per factor, invece di seguire la politica del Vector
+     * (raddoppio, o l'incremento fisso passato al costruttore). Un fattore vicino a 1 spreca meno memoria
+     * ma copia l'array più spesso; 0 ripristina la politica del Vector.
+     *
+     * @param factor il fattore di crescita, maggiore di 1, oppure 0
+     * @throws IllegalArgumentException se factor non è 0 e non è maggiore di 1, o se con la soglia di riduzione
+     *         attuale la lista verrebbe ridotta subito dopo una crescita
+     */
+    public void setGrowthFactor(float factor){
+        if(factor != 0 && !(factor > 1 && factor < Float.POSITIVE_INFINITY))
+            throw new IllegalArgumentException("Illegal growth factor: " + factor);
+        checkHysteresis(factor, root.shrinkThreshold);
+        root.growthFactor = factor;
+    }
+
+    /**
+     * Ritorna il fattore di crescita della lista principale
+     *
+     * @return il fattore di crescita, 0 se il Vector segue la sua politica
+     * @see #setGrowthFactor(float)
+     */
+    public float getGrowthFactor(){
+        return root.growthFactor;
+    }
+
+    /**
+     * Imposta la soglia di riduzione automatica della lista principale (anche se chiamato su una sottolista).
+     * Quando dopo una rimozione gli elementi sono meno di threshold volte la capacità, la capacità viene
+     * ridotta al doppio degli elementi, ma mai sotto la capacità iniziale del Vector. La differenza tra la
+     * soglia e l'occupazione dopo la riduzione (metà) evita che la lista alterni riduzioni e crescite
+     * quando la dimensione oscilla intorno a un valore: per questo la soglia deve essere minore di 1/2 e
+     * dell'occupazione dopo una crescita (1/fattore di crescita). 0 disattiva la riduzione.
+     *
+     * @param threshold la frazione di occupazione sotto la quale il Vector viene ridotto, oppure 0
+     * @throws IllegalArgumentException se threshold non è 0 e non è compresa tra 0 e 1/2 esclusi, o se
+     *         è maggiore dell'occupazione dopo una crescita
+     */
+    public void setShrinkThreshold(float threshold){
+        if(threshold != 0 && !(threshold > 0 && threshold < 0.5f))
+            throw new IllegalArgumentException("Illegal shrink threshold: " + threshold);
+        checkHysteresis(root.growthFactor, threshold);
+        root.shrinkThreshold = threshold;
+        int capacity = list.capacity();
+        shrink();
+        if(list.capacity() != capacity)
+            structuralChange(0);
+    }
+
+    /**
+     * Ritorna la soglia di riduzione automatica della lista principale
+     *
+     * @return la soglia di riduzione, 0 se la riduzione è disattivata
+     * @see #setShrinkThreshold(float)
+     */
+    public float getShrinkThreshold(){
+        return root.shrinkThreshold;
+    }
+
+    /**
+     * Verifica che subito dopo una crescita del fattore specificato l'occupazione resti sopra la soglia
+     */
+    private static void checkHysteresis(float factor, float threshold){
+        if(factor != 0 && threshold * factor >= 1)
+            throw new IllegalArgumentException("Shrink threshold " + threshold + " too high for growth factor " + factor);
+    }
+
+    // Indexed mode
+
+    /**
+     * Attiva o disattiva la modalità indicizzata della lista principale (anche se chiamato su una sottolista).
+     * In modalità indicizzata la lista mantiene una tabella hash che associa a ogni elemento le posizioni
+     * della sua prima e della sua ultima occorrenza, così indexOf, lastIndexOf, contains e containsAll
+     * costano O(1) per elemento cercato invece di una scansione della lista.
+     * Le aggiunte in fondo alla lista vengono inserite nella tabella alla ricerca successiva, elaborando
+     * solo i nuovi elementi. La sostituzione di un elemento aggiorna la tabella in O(1); un inserimento o
+     * una rimozione toglie dalla tabella solo le posizioni successive, che la ricerca seguente indicizza
+     * di nuovo, quindi costa in proporzione agli elementi che seguono la modifica: rimuovere o sostituire
+     * gli ultimi elementi costa O(1), mentre le modifiche in testa costano quanto una ricostruzione.
+     * La tabella occupa memoria proporzionale al numero di elementi distinti, e richiede che gli elementi
+     * abbiano hashCode coerente con equals.
+     * La tabella viene estesa o ricostruita tenendo il suo lock, quindi più thread possono cercare
+     * insieme finché nessuno modifica la lista.
+     *
+     * @param indexed true per attivare la modalità indicizzata, false per disattivarla e liberare la tabella
+     */
+    public void setIndexed(boolean indexed){
+        root.indexed = 0;
+        root.index = indexed ? new Hashtable() : null;
+    }
+
+    /**
+     * Ritorna vero se la lista principale è in modalità indicizzata
+     *
+     * @return true se la modalità indicizzata è attiva
+     * @see #setIndexed(boolean)
+     */
+    public boolean isIndexed(){
+        return root.index != null;
+    }
+
+    /**
+     * Ritorna la tabella delle posizioni della lista principale aggiornata con tutti gli elementi,
+     * ricostruendola o estendendola se necessario; null se la modalità indicizzata non è attiva.
+     * L'aggiornamento avviene tenendo il lock della tabella, che rende visibile il risultato ai thread
+     * che la ottengono dopo
+     *
+     * @return la tabella che associa a ogni elemento un array con la sua prima e la sua ultima posizione assoluta
+     */
+    //Hashtable è usata senza tipi come nel resto della libreria, quindi le chiamate a put non sono controllate
+    @SuppressWarnings("unchecked")
+    private Hashtable index(){
+        ListAdapter r = root;
+        Hashtable table = r.index;
+        if(table == null)
+            return null;
+        synchronized(table){
+            int size = list.size();
+            int start = r.indexed;
+            //Il Vector potrebbe essere stato accorciato senza passare per la lista
+            if(start > size)
+                start = 0;
+            if(start == 0 && !table.isEmpty())
+                table.clear();
+            if(start < size){
+                //Finché l'estensione non è completa la tabella risulta da ricostruire,
+                //così un'eccezione a metà non lascia posizioni parziali
+                r.indexed = 0;
+                Object[] data = list.array();
+                for(int i = start; i < size; i++){
+                    Object k = key(data[i]);
+                    int[] positions = (int[]) table.get(k);
+                    if(positions == null)
+                        table.put(k, new int[]{i, i});
+                    else{
+                        //Una prima posizione stimata oltre i può essere rimasta da prima di un troncamento
+                        if(positions[0] < 0 && ~positions[0] > i)
+                            positions[0] = i;
+                        positions[1] = i;
+                    }
+                }
+                r.indexed = size;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Ritorna la prima e l'ultima posizione assoluta dell'elemento nella tabella della lista principale,
+     * completando le posizioni rimaste stimate dopo le modifiche con una scansione limitata dalla stima
+     *
+     * @param table la tabella restituita da {@link #index()}
+     * @param obj l'elemento da cercare
+     * @return l'array con la prima e l'ultima posizione di obj, null se obj non è nella lista
+     */
+    private int[] positions(Hashtable table, Object obj){
+        Object k = key(obj);
+        synchronized(table){
+            int[] positions = (int[]) table.get(k);
+            if(positions == null || (positions[0] >= 0 && positions[1] >= 0))
+                return positions;
+            Object[] data = list.array();
+            //Le stime rimaste da prima di un troncamento possono superare la parte indicizzata
+            int bound = root.indexed - 1;
+            if(positions[0] < 0){
+                int last = positions[1] < 0 ? Math.min(~positions[1], bound) : positions[1];
+                int i = ~positions[0];
+                while(i <= last && !k.equals(key(data[i])))
+                    i++;
+                //Le occorrenze stimate sono state tutte sostituite
+                if(i > last){
+                    table.remove(k);
+                    return null;
+                }
+                positions[0] = i;
+            }
+            if(positions[1] < 0){
+                //La ricerca si ferma al più sulla prima occorrenza
+                int i = Math.min(~positions[1], bound);
+                while(!k.equals(key(data[i])))
+                    i--;
+                positions[1] = i;
+            }
+            return positions;
+        }
+    }
+
+    /**
+     * Toglie dalla tabella della lista principale le posizioni dalla posizione assoluta at in poi, che la
+     * ricerca successiva indicizzerà di nuovo; va chiamato prima di inserire o rimuovere elementi in at,
+     * quando l'array contiene ancora gli elementi indicizzati. Gli elementi che compaiono anche prima di at
+     * restano nella tabella con l'ultima posizione stimata. Costa in proporzione agli elementi indicizzati
+     * da at in poi.
+     *
+     * @param at la posizione assoluta del primo elemento che verrà spostato o rimosso
+     */
+    private void truncateIndex(int at){
+        ListAdapter r = root;
+        Hashtable table = r.index;
+        if(table == null)
+            return;
+        synchronized(table){
+            int indexed = r.indexed;
+            if(at >= indexed)
+                return;
+            //Se il Vector è stato accorciato senza passare per la lista la tabella va ricostruita
+            if(at == 0 || indexed > list.size()){
+                table.clear();
+                r.indexed = 0;
+                return;
+            }
+            Object[] data = list.array();
+            for(int i = at; i < indexed; i++){
+                Object k = key(data[i]);
+                int[] positions = (int[]) table.get(k);
+                if(positions == null)
+                    continue;
+                if((positions[0] < 0 ? ~positions[0] : positions[0]) >= at)
+                    table.remove(k);
+                else if((positions[1] < 0 ? ~positions[1] : positions[1]) >= at)
+                    positions[1] = ~(at - 1);
+            }
+            r.indexed = at;
+        }
+    }
+
+    /**
+     * Registra la sostituzione dell'elemento nella posizione assoluta at: invalida l'hash memorizzato
+     * se lo include, e aggiorna in O(1) le posizioni dell'elemento tolto e di quello inserito nella
+     * tabella della lista principale
+     *
+     * @param at la posizione assoluta dell'elemento sostituito
+     * @param old l'elemento tolto
+     * @param element l'elemento inserito
+     */
+    //Hashtable è usata senza tipi come nel resto della libreria, quindi le chiamate a put non sono controllate
+    @SuppressWarnings("unchecked")
+    private void elementChanged(int at, Object old, Object element){
+        ListAdapter r = root;
+        if(at < (int) r.hashState)
+            r.hashState = NO_HASH;
+        Hashtable table = r.index;
+        if(table == null)
+            return;
+        synchronized(table){
+            if(at >= r.indexed)
+                return;
+            Object k = key(old);
+            int[] positions = (int[]) table.get(k);
+            if(positions != null){
+                if(positions[0] == at && positions[1] == at)
+                    table.remove(k);
+                else if(positions[0] == at)
+                    positions[0] = ~(at + 1);
+                else if(positions[1] == at)
+                    positions[1] = ~(at - 1);
+            }
+            k = key(element);
+            positions = (int[]) table.get(k);
+            if(positions == null)
+                table.put(k, new int[]{at, at});
+            else{
+                //Una posizione stimata diventa esatta se at la raggiunge
+                if(positions[0] < 0 ? at <= ~positions[0] : at < positions[0])
+                    positions[0] = at;
+                if(positions[1] < 0 ? at >= ~positions[1] : at > positions[1])
+                    positions[1] = at;
+            }
+        }
+    }
+
+    // Accesso diretto per le operazioni parallele, per l'ordinamento e per MeteredList
+
+    /**
+     * Ritorna il Vector adaptee, condiviso dalla lista principale e da tutte le sottoliste
+     */
+    Vector adaptee(){
+        return list;
+    }
+
+    /**
+     * Ritorna l'array del Vector, che contiene gli elementi della lista a partire da {@link #offset()}
+     */
+    Object[] array(){
+        return list.array();
+    }
+
+    /**
+     * Ritorna la posizione assoluta nell'array del primo elemento della lista
+     */
+    int offset(){
+        return from;
+    }
+
+    /**
+     * Registra che gli elementi della lista sono stati riordinati direttamente nell'array del Vector:
+     * come una modifica strutturale invalida gli iteratori aperti, e invalida hash e indice memorizzati
+     */
+    void reordered(){
+        contentChanged(from);
+        structuralChange(0);
+    }
+
+    /**
+     * Ritorna il contatore delle modifiche strutturali della lista principale
+     */
+    int rootModCount(){
+        return root.modCount;
+    }
+
+    /**
+     * Iteratore della lista, implementa {@link myAdapter.HListIterator} e {@link myAdapter.HIterator}
+     * <p>
+     * Il cursore è una posizione assoluta nell'array del Vector, che viene letto direttamente
+     * senza passare per elementAt; l'array e l'estremo superiore vengono aggiornati solo dopo
+     * le modifiche fatte dall'iteratore stesso, così un'iterazione completa costa quanto un ciclo
+     * sull'array. L'iteratore è fail-fast: se la lista viene modificata strutturalmente senza
+     * passare per l'iteratore, la chiamata successiva lancia ConcurrentModificationException.
+     * L'iterazione comincia con la prima chiamata riuscita a next, previous o add: fino ad allora
+     * l'iteratore vede anche le modifiche fatte alla lista dopo la sua creazione.
+     */
+    private class ListIteratorAdapter implements HBatchListIterator {
+        /**
+         * Posizione assoluta dell'elemento restituito dalla prossima chiamata a next
+         */
+        private int cursor;
+
+        /**
+         * Posizione assoluta dell'ultimo elemento restituito da next o previous, -1 se non
+         * c'è o se è stato rimosso
+         */
+        private int lastRet = -1;
+
+        /**
+         * Posizione assoluta successiva all'ultimo elemento della lista
+         */
+        private int end;
+
+        private Object[] data;
+        private int expectedModCount;
+
+        /**
+         * La lista principale, che contiene il contatore delle modifiche
+         */
+        private final ListAdapter owner = root;
+
+        /**
+         * Diventa vero quando l'iterazione è cominciata, da quel momento l'iteratore è fail-fast
+         */
+        private boolean started;
+
+        ListIteratorAdapter(int cursor){
+            this.cursor = cursor;
+            resync();
+        }
+
+        //next e previous contengono solo il caso comune, abbastanza piccolo da essere
+        //espanso inline dal compilatore JIT; i controlli rari sono in metodi separati
+
+        public boolean hasNext(){
+            if(!started)
+                resync();
+            return cursor < end;
+        }
+
+        public Object next(){
+            int i = cursor;
+            if(i >= end || owner.modCount != expectedModCount)
+                i = slowNext();
+            cursor = i + 1;
+            started = true;
+            return data[lastRet = i];
+        }
+
+        public boolean hasPrevious(){
+            if(!started)
+                resync();
+            return cursor > from;
+        }
+
+        public Object previous(){
+            int i = cursor - 1;
+            if(i < from || owner.modCount != expectedModCount)
+                i = slowPrevious();
+            cursor = i;
+            started = true;
+            return data[lastRet = i];
+        }
+
+        /**
+         * Copia i prossimi elementi nel buffer con una sola copia a blocco dall'array del Vector
+         */
+        public int nextBatch(Object[] buffer, int offset, int length){
+            if(offset < 0 || length < 0 || offset > buffer.length - length)
+                throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length + ", buffer: " + buffer.length);
+            checkForComodification();
+            int count = Math.min(length, end - cursor);
+            if(count <= 0)
+                return 0;
+            System.arraycopy(data, cursor, buffer, offset, count);
+            cursor += count;
+            lastRet = cursor - 1;
+            started = true;
+            return count;
+        }
+
+        private int slowNext(){
+            checkForComodification();
+            if(cursor >= end)
+                throw new NoSuchElementException();
+            return cursor;
+        }
+
+        private int slowPrevious(){
+            checkForComodification();
+            if(cursor <= from)
+                throw new NoSuchElementException();
+            return cursor - 1;
+        }
+
+        public int nextIndex(){
+            return cursor - from;
+        }
+
+        public int previousIndex(){
+            return cursor - from - 1;
+        }
+
+        public void remove(){
+            if(lastRet < 0)
+                throw new IllegalStateException();
+            checkForComodification();
+            ListAdapter.this.remove(lastRet - from);
+            cursor = lastRet;
+            lastRet = -1;
+            resync();
+        }
+
+        public void set(Object obj){
+            if(lastRet < 0)
+                throw new IllegalStateException();
+            checkForComodification();
+            Object old = data[lastRet];
+            data[lastRet] = obj;
+            elementChanged(lastRet, old, obj);
+        }
+
+        public void add(Object obj){
+            checkForComodification();
+            ListAdapter.this.add(cursor - from, obj);
+            started = true;
+            cursor++;
+            lastRet = -1;
+            resync();
+        }
+
+        /**
+         * Riallinea l'iteratore alla lista, all'inizio dell'iterazione e dopo ogni modifica fatta
+         * dall'iteratore: la dimensione potrebbe essere cambiata e l'array potrebbe essere stato sostituito
+         *
+         * @throws ConcurrentModificationException se la posizione del cursore non è più valida
+         */
+        private void resync(){
+            end = from + size();
+            data = list.array();
+            expectedModCount = owner.modCount;
+            if(cursor > end)
+                throw new ConcurrentModificationException();
+        }
+
+        /**
+         * Controlla che la lista non sia stata modificata strutturalmente senza passare per
+         * l'iteratore; se l'iterazione non è ancora cominciata riallinea l'iteratore
+         *
+         * @throws ConcurrentModificationException se la lista è stata modificata durante l'iterazione
+         */
+        private void checkForComodification(){
+            if(!started)
+                resync();
+            else if(owner.modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+    }
+
+    // Modifiche strutturali
+
+    /**
+     * Rimuove dal Vector gli elementi nelle posizioni assolute [gapFrom, gapTo), spostando la coda
+     * con una sola copia a blocco
+     *
+     * @param gapFrom la posizione assoluta del primo elemento da rimuovere
+     * @param gapTo la posizione assoluta successiva all'ultimo elemento da rimuovere
+     */
+    private void removeGap(int gapFrom, int gapTo){
+        int removed = gapTo - gapFrom;
+        if(removed == 0)
+            return;
+        truncateIndex(gapFrom);
+        int size = list.size();
+        Object[] data = list.array();
+        System.arraycopy(data, gapTo, data, gapFrom, size - gapTo);
+        //setSize azzera le posizioni rimaste libere in fondo al Vector
+        list.setSize(size - removed);
+        contentChanged(gapFrom);
+        structuralChange(-removed);
+        shrink();
+    }
+
+    /**
+     * Se è attivo un fattore di crescita e il Vector non può contenere altri added elementi, ne aumenta
+     * la capacità secondo il fattore, prima che il Vector cresca secondo la sua politica
+     *
+     * @param added il numero di elementi che stanno per essere inseriti
+     */
+    private void ensureRoom(int added){
+        float factor = root.growthFactor;
+        if(factor == 0)
+            return;
+        int capacity = list.array().length;
+        int needed = list.size() + added;
+        if(needed > capacity)
+            list.setCapacity(Math.max(needed, capacity + (int) Math.max(1, Math.min(Integer.MAX_VALUE - 8 - capacity, capacity * (double) (factor - 1)))));
+    }
+
+    /**
+     * Se è attiva la riduzione automatica e l'occupazione del Vector è scesa sotto la soglia, ne riduce
+     * la capacità al doppio degli elementi (mai sotto la capacità minima): la lista torna occupata a metà,
+     * quindi servono molte rimozioni o molti inserimenti prima di una nuova riduzione o crescita
+     */
+    private void shrink(){
+        ListAdapter r = root;
+        if(r.shrinkThreshold == 0)
+            return;
+        //La lunghezza dell'array è la capacità, letta senza passare per i metodi sincronizzati del Vector
+        int capacity = list.array().length;
+        if(capacity > r.minCapacity && list.size() < capacity * r.shrinkThreshold)
+            list.setCapacity(Math.max(r.minCapacity, list.size() * 2));
+    }
+
+    /**
+     * Registra una modifica strutturale fatta attraverso questa lista: incrementa il contatore
+     * della lista principale e aggiorna l'estremo superiore di questa sottolista e di tutte
+     * quelle da cui è stata ottenuta, che restano così valide
+     *
+     * @param delta la variazione del numero di elementi
+     */
+    private void structuralChange(int delta){
+        root.modCount++;
+        for(ListAdapter l = this; !l.isFather; l = l.parent){
+            l.to += delta;
+            l.modCount = root.modCount;
+        }
+    }
+
+    /**
+     * Registra la modifica dell'elemento nella posizione assoluta at e di quelli successivi:
+     * se l'hash memorizzato nella lista principale include quell'elemento non è più valido, e verrà
+     * ricalcolato alla prossima richiesta. Gli inserimenti e le rimozioni hanno già tolto dall'indice le
+     * posizioni da at in poi con {@link #truncateIndex(int)}; se l'indice le include ancora (una ricerca
+     * concorrente o un riordinamento) viene ricostruito alla prossima ricerca.
+     * Le aggiunte in fondo alla lista non li invalidano mai.
+     *
+     * @param at la posizione assoluta del primo elemento modificato
+     */
+    private void contentChanged(int at){
+        ListAdapter r = root;
+        if(at < (int) r.hashState)
+            r.hashState = NO_HASH;
+        Hashtable table = r.index;
+        if(table != null)
+            synchronized(table){
+                if(at < r.indexed)
+                    r.indexed = 0;
+            }
+    }
+
+    /**
+     * Controlla che la lista principale non sia stata modificata strutturalmente
+     * senza passare per questa sottolista
+     *
+     * @throws ConcurrentModificationException se la sottolista non è più valida
+     */
+    private void checkForComodification(){
+        if(root.modCount != modCount)
+            throw new ConcurrentModificationException();
+    }
+
+    // Tabelle hash temporanee
+
+    /**
+     * Chiave usata nelle tabelle hash al posto di null, che Hashtable non accetta
+     */
+    private static final Object NULL_KEY = new Object();
+
+    /**
+     * Ritorna la chiave con cui un elemento viene memorizzato in una tabella hash
+     *
+     * @param obj l'elemento, anche null
+     * @return obj, oppure NULL_KEY se obj è null
+     */
+    private static Object key(Object obj){
+        return obj == null ? NULL_KEY : obj;
+    }
+
+    /**
+     * Crea una tabella hash contenente gli elementi dell'array nell'intervallo [from, to),
+     * usata per cercare gli elementi in tempo costante. Hashtable è presente anche in CLDC 1.1.
+     *
+     * @param elements l'array di elementi
+     * @param from la posizione del primo elemento
+     * @param to la posizione successiva all'ultimo elemento
+     * @return la tabella contenente le chiavi degli elementi
+     */
+    //Hashtable è usata senza tipi come nel resto della libreria, quindi le chiamate a put non sono controllate
+    @SuppressWarnings("unchecked")
+    private static Hashtable lookup(Object[] elements, int from, int to){
+        Hashtable table = new Hashtable(2 * (to - from) + 1);
+        for(int i = from; i < to; i++){
+            Object k = key(elements[i]);
+            table.put(k, k);
+        }
+        return table;
+    }
+
+    // Controlli sugli indici
+
+    /**
+     * Controlla che index sia la posizione di un elemento della lista, cioè compresa tra 0 e size()-1
+     *
+     * @param index la posizione da controllare
+     * @throws IndexOutOfBoundsException se index &lt; 0 o index &gt;= size()
+     */
+    private void rangeCheck(int index){
+        if(index < 0 || index >= size())
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+    }
+
+    /**
+     * Controlla che index sia una posizione valida per un inserimento, cioè compresa tra 0 e size()
+     *
+     * @param index la posizione da controllare
+     * @throws IndexOutOfBoundsException se index &lt; 0 o index &gt; size()
+     */
+    private void rangeCheckForAdd(int index){
+        if(index < 0 || index > size())
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
     }
 
 }
@@ -0,0 +1,197 @@
+package myAdapter;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counters and latency histograms of the operations of a {@link myAdapter.MeteredList}<br>
+ * <p>
+ * The counters are atomic, so one instance can be shared by many lists used by many threads. Only one
+ * operation out of {@link #getSampleInterval()} (64 by default) is timed with System.nanoTime, and its
+ * latency is added to the logarithmic histogram of its type, so the timing costs little also on the
+ * cheapest operations.
+ * <p>
+ * The metrics can be read directly or through JMX, after {@link #register(String)}. The lists that aren't
+ * wrapped in a MeteredList don't pay anything for this class.
+ * <p>
+ * This class is based on java.util.concurrent.atomic and on JMX, so unlike the rest of the package it
+ * requires J2SE 5.0.
+ *
+ * @author Alessandro Marcassa
+ * @see myAdapter.MeteredList
+ * @see myAdapter.ListMetricsMBean
+ */
+public class ListMetrics implements ListMetricsMBean {
+    static final int GET = 0;
+    static final int SET = 1;
+    static final int ADD = 2;
+    static final int INSERT = 3;
+    static final int REMOVE = 4;
+    static final int SEARCH = 5;
+    static final int BULK = 6;
+
+    private static final String[] NAMES = {"get", "set", "add", "insert", "remove", "search", "bulk"};
+
+    /**
+     * Number of buckets of every histogram, the last one collects the operations longer than about a second
+     */
+    private static final int BUCKETS = 32;
+
+    /**
+     * Value returned by start for the operations that aren't timed
+     */
+    static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    private final AtomicLongArray counts = new AtomicLongArray(NAMES.length);
+    private final AtomicLongArray latencies = new AtomicLongArray(NAMES.length * BUCKETS);
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong grows = new AtomicLong();
+    private final AtomicLong shifted = new AtomicLong();
+
+    /**
+     * Sampling interval - 1
+     */
+    private volatile int sampleMask = 63;
+
+    private ObjectName name;
+
+    /**
+     * Registers the metrics in the platform MBean server with the name myAdapter:type=ListMetrics,name=name
+     *
+     * @param name the name that identifies these metrics among the registered ones
+     * @return the name of the MBean
+     * @throws IllegalStateException if the metrics are already registered, or the registration fails
+     */
+    public synchronized ObjectName register(String name) {
+        if (this.name != null)
+            throw new IllegalStateException("Already registered as " + this.name);
+        try {
+            ObjectName objectName = new ObjectName("myAdapter:type=ListMetrics,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            this.name = objectName;
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException(e.toString());
+        }
+    }
+
+    /**
+     * Removes the metrics from the platform MBean server, if they are registered
+     */
+    public synchronized void unregister() {
+        if (name == null)
+            return;
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.unregisterMBean(name);
+        } catch (JMException e) {
+            // already removed through the server
+        }
+        name = null;
+    }
+
+    // Recording, called by MeteredList
+
+    /**
+     * Counts an operation of the type op, returning the start time if it has to be timed
+     */
+    long start(int op) {
+        long count = counts.incrementAndGet(op);
+        return (count & sampleMask) == 0 ? System.nanoTime() : NOT_SAMPLED;
+    }
+
+    /**
+     * Records the latency of an operation started with start
+     */
+    void end(int op, long start) {
+        if (start == NOT_SAMPLED)
+            return;
+        long nanos = System.nanoTime() - start;
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(0, nanos)));
+        latencies.incrementAndGet(op * BUCKETS + bucket);
+    }
+
+    void scanned(long elements) {
+        scanned.addAndGet(elements);
+    }
+
+    void grown() {
+        grows.incrementAndGet();
+    }
+
+    void shifted(long elements) {
+        if (elements > 0)
+            shifted.addAndGet(elements);
+    }
+
+    // ListMetricsMBean
+
+    public String[] getOperationNames() {
+        return NAMES.clone();
+    }
+
+    public long[] getOperationCounts() {
+        long[] result = new long[NAMES.length];
+        for (int i = 0; i < result.length; i++)
+            result[i] = counts.get(i);
+        return result;
+    }
+
+    public long getTotalOperations() {
+        long total = 0;
+        for (int i = 0; i < NAMES.length; i++)
+            total += counts.get(i);
+        return total;
+    }
+
+    public long getScannedElements() {
+        return scanned.get();
+    }
+
+    public long getArrayGrows() {
+        return grows.get();
+    }
+
+    public long getShiftedElements() {
+        return shifted.get();
+    }
+
+    public int getSampleInterval() {
+        return sampleMask + 1;
+    }
+
+    public void setSampleInterval(int interval) {
+        if (interval <= 0 || interval > 1 << 30)
+            throw new IllegalArgumentException("Illegal interval: " + interval);
+        int power = 1;
+        while (power < interval)
+            power <<= 1;
+        sampleMask = power - 1;
+    }
+
+    public long[] latencyHistogram(String operation) {
+        for (int op = 0; op < NAMES.length; op++) {
+            if (NAMES[op].equals(operation)) {
+                long[] result = new long[BUCKETS];
+                for (int i = 0; i < BUCKETS; i++)
+                    result[i] = latencies.get(op * BUCKETS + i);
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + operation);
+    }
+
+    public void reset() {
+        for (int i = 0; i < NAMES.length; i++)
+            counts.set(i, 0);
+        for (int i = 0; i < latencies.length(); i++)
+            latencies.set(i, 0);
+        scanned.set(0);
+        grows.set(0);
+        shifted.set(0);
+    }
+}
@@ -0,0 +1,85 @@
+package myAdapter;
+
+/**
+ * Management interface of {@link myAdapter.ListMetrics}, through which the metrics collected by a
+ * {@link myAdapter.MeteredList} are read with JMX (for example with jconsole).
+ * <p>
+ * The operations are counted by type: get, set, add (appends), insert (positional inserts and addAll),
+ * remove (single removals), search (indexOf, lastIndexOf, contains and containsAll) and bulk (removeAll,
+ * retainAll and clear).
+ */
+public interface ListMetricsMBean {
+
+    /**
+     * Returns the names of the operation types, in the order used by {@link #getOperationCounts()}.
+     *
+     * @return the names of the operation types.
+     */
+    String[] getOperationNames();
+
+    /**
+     * Returns the number of operations executed for each type.
+     *
+     * @return the counts, in the order of {@link #getOperationNames()}.
+     */
+    long[] getOperationCounts();
+
+    /**
+     * Returns the total number of operations executed.
+     *
+     * @return the sum of the operation counts.
+     */
+    long getTotalOperations();
+
+    /**
+     * Returns the number of elements compared by the linear searches.
+     *
+     * @return the total length of the scans.
+     */
+    long getScannedElements();
+
+    /**
+     * Returns the number of times the backing array of the Vector has been enlarged.
+     *
+     * @return the number of grows.
+     */
+    long getArrayGrows();
+
+    /**
+     * Returns the number of elements moved by the positional inserts and removals.
+     *
+     * @return the total number of shifted elements.
+     */
+    long getShiftedElements();
+
+    /**
+     * Returns the sampling interval of the latencies: one operation out of this number is timed.
+     *
+     * @return the sampling interval, a power of two.
+     */
+    int getSampleInterval();
+
+    /**
+     * Sets the sampling interval of the latencies, rounded up to a power of two.
+     *
+     * @param interval the number of operations per timed operation, 1 to time all of them.
+     * @exception IllegalArgumentException if interval is not positive.
+     */
+    void setSampleInterval(int interval);
+
+    /**
+     * Returns the histogram of the sampled latencies of an operation type. The bucket i counts the
+     * operations that lasted from 2<sup>i-1</sup> to 2<sup>i</sup> - 1 nanoseconds, the last bucket
+     * also counts the longer ones.
+     *
+     * @param operation the name of the operation type.
+     * @return the counts of the buckets.
+     * @exception IllegalArgumentException if operation is not one of {@link #getOperationNames()}.
+     */
+    long[] latencyHistogram(String operation);
+
+    /**
+     * Sets all the counters and histograms to 0.
+     */
+    void reset();
+}
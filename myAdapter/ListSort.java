@@ -0,0 +1,195 @@
+package myAdapter;
+
+import java.util.ConcurrentModificationException;
+
+/**
+ * Stable sort of any {@link myAdapter.HList}, available also in CLDC 1.1<br>
+ * <p>
+ * The algorithm is a natural merge sort: the array is first split into the runs it already contains,
+ * reversing the strictly descending ones, and the runs shorter than 32 elements are extended with a binary
+ * insertion sort. Then the adjacent runs are merged in pairs until a single run is left, skipping the merges
+ * of runs that are already in order. An already sorted (or reverse sorted) list costs n - 1 comparisons, a
+ * list made of k sorted blocks O(n log k), any list O(n log n). The sort is stable: equal elements keep
+ * their order.
+ * <p>
+ * A {@link myAdapter.ListAdapter}, also a sublist, is sorted directly in the array of its Vector, and a
+ * {@link myAdapter.CopyOnWriteList} publishes a sorted copy of its array as a single modification; any other
+ * list is copied into an array, sorted and written back with its list iterator. The sort of a ListAdapter is
+ * a structural modification: the iterators open on the list throw ConcurrentModificationException. The
+ * comparator must not modify the list.
+ * <p>
+ * {@link myAdapter.ParallelLists#sort(HList, HComparator)} sorts the large lists with many threads on J2SE.
+ *
+ * @author Alessandro Marcassa
+ * @see myAdapter.HComparator
+ */
+public final class ListSort {
+
+    /**
+     * Minimum length of the runs, the shorter ones are extended with the insertion sort
+     */
+    private static final int MIN_RUN = 32;
+
+    private ListSort() {
+    }
+
+    /**
+     * Sorts the list in the order defined by the comparator. The sort is stable.
+     *
+     * @param list       the list to sort
+     * @param comparator the order of the elements
+     * @throws NullPointerException            if list or comparator are null
+     * @throws ConcurrentModificationException if the list is modified during the sort
+     * @throws ClassCastException              if the comparator can't compare some of the elements
+     */
+    public static void sort(HList list, HComparator comparator) {
+        if (list == null || comparator == null)
+            throw new NullPointerException();
+        if (list instanceof ListAdapter) {
+            ListAdapter adapter = (ListAdapter) list;
+            int expectedModCount = adapter.rootModCount();
+            int from = adapter.offset();
+            try {
+                sort(adapter.array(), from, from + adapter.size(), comparator);
+                if (adapter.rootModCount() != expectedModCount)
+                    throw new ConcurrentModificationException();
+            } finally {
+                // the array can be partly permuted also when the sort fails
+                adapter.reordered();
+            }
+            return;
+        }
+        if (list instanceof CopyOnWriteList) {
+            // a copy of the current array is sorted and published, again if a writer has replaced it meanwhile
+            CopyOnWriteList copyOnWrite = (CopyOnWriteList) list;
+            Object[] snapshot;
+            Object[] elements;
+            do {
+                snapshot = copyOnWrite.snapshot();
+                elements = copyOnWrite.toArray();
+                sort(elements, 0, elements.length, comparator);
+            } while (!copyOnWrite.replace(snapshot, elements));
+            return;
+        }
+        Object[] elements = list.toArray();
+        sort(elements, 0, elements.length, comparator);
+        writeBack(list, elements);
+    }
+
+    /**
+     * Replaces the elements of the list, in order, with the ones of the array, which has the same length
+     */
+    static void writeBack(HList list, Object[] elements) {
+        HListIterator it = list.listIterator();
+        for (int i = 0; i < elements.length; i++) {
+            it.next();
+            it.set(elements[i]);
+        }
+    }
+
+    /**
+     * Sorts the range [from, to) of the array
+     */
+    static void sort(Object[] a, int from, int to, HComparator c) {
+        int n = to - from;
+        if (n < 2)
+            return;
+        // boundaries of the runs: the run i goes from runs[i] to runs[i + 1]
+        int[] runs = new int[n / MIN_RUN + 2];
+        int count = 0;
+        int lo = from;
+        while (lo < to) {
+            int hi = runEnd(a, lo, to, c);
+            if (hi - lo < MIN_RUN) {
+                int forced = Math.min(to, lo + MIN_RUN);
+                insertionSort(a, lo, hi, forced, c);
+                hi = forced;
+            }
+            runs[count++] = lo;
+            lo = hi;
+        }
+        runs[count] = to;
+
+        Object[] tmp = null;
+        while (count > 1) {
+            int merged = 0;
+            for (int i = 0; i < count; i += 2) {
+                if (i + 1 < count)
+                    tmp = merge(a, runs[i], runs[i + 1], runs[i + 2], c, tmp);
+                runs[merged++] = runs[i];
+            }
+            runs[merged] = to;
+            count = merged;
+        }
+    }
+
+    /**
+     * Returns the end of the run that starts at lo; a strictly descending run is reversed, so that the
+     * equal elements are never swapped
+     */
+    private static int runEnd(Object[] a, int lo, int to, HComparator c) {
+        int hi = lo + 1;
+        if (hi == to)
+            return hi;
+        if (c.compare(a[hi], a[lo]) < 0) {
+            while (++hi < to && c.compare(a[hi], a[hi - 1]) < 0)
+                ;
+            for (int i = lo, j = hi - 1; i < j; i++, j--) {
+                Object t = a[i];
+                a[i] = a[j];
+                a[j] = t;
+            }
+        } else {
+            while (++hi < to && c.compare(a[hi], a[hi - 1]) >= 0)
+                ;
+        }
+        return hi;
+    }
+
+    /**
+     * Extends the sorted range [lo, start) to [lo, hi), inserting every element after the last one that isn't
+     * greater, found with a binary search
+     */
+    private static void insertionSort(Object[] a, int lo, int start, int hi, HComparator c) {
+        for (int i = start; i < hi; i++) {
+            Object pivot = a[i];
+            int left = lo;
+            int right = i;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (c.compare(pivot, a[mid]) < 0)
+                    right = mid;
+                else
+                    left = mid + 1;
+            }
+            System.arraycopy(a, left, a, left + 1, i - left);
+            a[left] = pivot;
+        }
+    }
+
+    /**
+     * Merges the sorted ranges [lo, mid) and [mid, hi), copying the first one into tmp. Nothing is done if
+     * the last element of the first range isn't greater than the first of the second one.
+     *
+     * @return the buffer used, that can be passed to the next merges
+     */
+    static Object[] merge(Object[] a, int lo, int mid, int hi, HComparator c, Object[] tmp) {
+        if (c.compare(a[mid - 1], a[mid]) <= 0)
+            return tmp;
+        int length = mid - lo;
+        if (tmp == null || tmp.length < length)
+            tmp = new Object[Math.max(length, tmp == null ? 0 : tmp.length * 2)];
+        System.arraycopy(a, lo, tmp, 0, length);
+        int i = 0;
+        int j = mid;
+        int k = lo;
+        while (i < length && j < hi) {
+            if (c.compare(a[j], tmp[i]) < 0)
+                a[k++] = a[j++];
+            else
+                a[k++] = tmp[i++];
+        }
+        System.arraycopy(tmp, i, a, k, length - i);
+        return tmp;
+    }
+}
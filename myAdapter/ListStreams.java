@@ -0,0 +1,60 @@
+package myAdapter;
+
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Bridge between the lists of this package and java.util.stream<br>
+ * <p>
+ * The streams are built on a spliterator that splits the list by ranges of indexes without copying it, so
+ * a parallel stream divides the work among the threads in parts of equal size. The elements of a
+ * {@link myAdapter.ListAdapter} and of its sublists are read directly from the array of its Vector, without
+ * the synchronization of Vector.elements(). The streams are fail-fast: a structural modification of the list
+ * during the terminal operation causes a ConcurrentModificationException.
+ * <p>
+ * This class is based on java.util.stream, so unlike the rest of the package it requires Java SE 8.
+ *
+ * @author Alessandro Marcassa
+ * @see myAdapter.HList
+ */
+public final class ListStreams {
+
+    private ListStreams() {
+    }
+
+    /**
+     * Returns a spliterator over the elements of the list, with the characteristics ORDERED, SIZED and SUBSIZED
+     *
+     * @param list the list to traverse
+     * @return a spliterator over the elements of list
+     * @throws NullPointerException if list is null
+     */
+    public static Spliterator<Object> spliterator(HList list) {
+        if (list == null)
+            throw new NullPointerException();
+        return new HListSpliterator(list);
+    }
+
+    /**
+     * Returns a sequential stream of the elements of the list
+     *
+     * @param list the source of the stream
+     * @return a sequential stream of the elements of list
+     * @throws NullPointerException if list is null
+     */
+    public static Stream<Object> stream(HList list) {
+        return StreamSupport.stream(spliterator(list), false);
+    }
+
+    /**
+     * Returns a parallel stream of the elements of the list
+     *
+     * @param list the source of the stream
+     * @return a parallel stream of the elements of list
+     * @throws NullPointerException if list is null
+     */
+    public static Stream<Object> parallelStream(HList list) {
+        return StreamSupport.stream(spliterator(list), true);
+    }
+}
@@ -0,0 +1,251 @@
+package myAdapter;
+
+/**
+ * Wrapper of a {@link myAdapter.ListAdapter} that records the metrics of its operations<br>
+ * <p>
+ * Every operation is counted by type in a {@link myAdapter.ListMetrics}, and one out of its sampling
+ * interval is timed. The wrapper also records the work done on the adaptee {@link myAdapter.Vector}:
+ * <ul>
+ * <li>the number of elements compared by indexOf, lastIndexOf, contains and remove(Object), none when the
+ * list is in indexed mode and answers from its table;</li>
+ * <li>the number of times the backing array has been enlarged, detected as a change of the capacity;</li>
+ * <li>the number of elements shifted by the positional inserts and removals.</li>
+ * </ul>
+ * The instrumentation is opt-in: a list that isn't wrapped runs the code of ListAdapter as is, so when
+ * the metrics aren't needed they cost nothing. The iterators aren't metered, and the bulk removals
+ * (removeAll, retainAll, clear) are only counted.
+ * <p>
+ * The metrics can be shared by many lists and read through JMX:
+ * <pre>
+ * ListMetrics metrics = new ListMetrics();
+ * metrics.register("orders");
+ * HList list = new MeteredList(new ListAdapter(), metrics);
+ * </pre>
+ * The wrapper is as thread-safe as the wrapped list. ListMetrics requires J2SE 5.0, unlike the rest of the package.
+ *
+ * @author Alessandro Marcassa
+ * @see myAdapter.ListMetrics
+ * @see myAdapter.ListAdapter
+ */
+public class MeteredList implements HList, HCollection {
+    private final ListAdapter list;
+    private final Vector adaptee;
+    private final ListMetrics metrics;
+
+    /**
+     * Creates a wrapper that records the operations of the list in the specified metrics. Every access
+     * to the list must go through the wrapper to be recorded.
+     *
+     * @param list    the list to wrap, also a sublist
+     * @param metrics the metrics that receive the records, possibly shared with other lists
+     * @throws NullPointerException if list or metrics are null
+     */
+    public MeteredList(ListAdapter list, ListMetrics metrics) {
+        if (list == null || metrics == null)
+            throw new NullPointerException();
+        this.list = list;
+        this.adaptee = list.adaptee();
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the metrics in which the operations are recorded
+     *
+     * @return the metrics of the list
+     */
+    public ListMetrics metrics() {
+        return metrics;
+    }
+
+    // Query Operations
+
+    public int size() {
+        return list.size();
+    }
+
+    public boolean isEmpty() {
+        return list.isEmpty();
+    }
+
+    public Object get(int index) {
+        long start = metrics.start(ListMetrics.GET);
+        Object element = list.get(index);
+        metrics.end(ListMetrics.GET, start);
+        return element;
+    }
+
+    public boolean contains(Object obj) {
+        return indexOf(obj) >= 0;
+    }
+
+    public int indexOf(Object obj) {
+        long start = metrics.start(ListMetrics.SEARCH);
+        int index = list.indexOf(obj);
+        metrics.end(ListMetrics.SEARCH, start);
+        if (!list.isIndexed())
+            metrics.scanned(index >= 0 ? index + 1 : list.size());
+        return index;
+    }
+
+    public int lastIndexOf(Object obj) {
+        long start = metrics.start(ListMetrics.SEARCH);
+        int index = list.lastIndexOf(obj);
+        metrics.end(ListMetrics.SEARCH, start);
+        if (!list.isIndexed()) {
+            int size = list.size();
+            metrics.scanned(index >= 0 ? size - index : size);
+        }
+        return index;
+    }
+
+    public boolean containsAll(HCollection coll) {
+        long start = metrics.start(ListMetrics.SEARCH);
+        boolean result = list.containsAll(coll);
+        metrics.end(ListMetrics.SEARCH, start);
+        return result;
+    }
+
+    public Object[] toArray() {
+        return list.toArray();
+    }
+
+    public Object[] toArray(Object[] arrayTarget) {
+        return list.toArray(arrayTarget);
+    }
+
+    // Modification Operations
+
+    public Object set(int index, Object element) {
+        long start = metrics.start(ListMetrics.SET);
+        Object old = list.set(index, element);
+        metrics.end(ListMetrics.SET, start);
+        return old;
+    }
+
+    public boolean add(Object obj) {
+        int capacity = adaptee.capacity();
+        long start = metrics.start(ListMetrics.ADD);
+        list.add(obj);
+        metrics.end(ListMetrics.ADD, start);
+        checkGrow(capacity);
+        return true;
+    }
+
+    public void add(int index, Object element) {
+        int capacity = adaptee.capacity();
+        int size = list.size();
+        long start = metrics.start(ListMetrics.INSERT);
+        list.add(index, element);
+        metrics.end(ListMetrics.INSERT, start);
+        checkGrow(capacity);
+        metrics.shifted(shiftedAfter(index, size));
+    }
+
+    public boolean addAll(HCollection coll) {
+        return addAll(list.size(), coll);
+    }
+
+    public boolean addAll(int index, HCollection coll) {
+        int capacity = adaptee.capacity();
+        int size = list.size();
+        long start = metrics.start(ListMetrics.INSERT);
+        boolean changed = list.addAll(index, coll);
+        metrics.end(ListMetrics.INSERT, start);
+        if (changed) {
+            checkGrow(capacity);
+            metrics.shifted(shiftedAfter(index, size));
+        }
+        return changed;
+    }
+
+    public Object remove(int index) {
+        int size = list.size();
+        long start = metrics.start(ListMetrics.REMOVE);
+        Object old = list.remove(index);
+        metrics.end(ListMetrics.REMOVE, start);
+        metrics.shifted(shiftedAfter(index + 1, size));
+        return old;
+    }
+
+    /**
+     * Searches the element and removes it by index, which costs the same as the remove(Object) of ListAdapter
+     * and records both the scan and the shift.
+     */
+    public boolean remove(Object obj) {
+        int index = indexOf(obj);
+        if (index < 0)
+            return false;
+        remove(index);
+        return true;
+    }
+
+    public boolean removeAll(HCollection coll) {
+        long start = metrics.start(ListMetrics.BULK);
+        boolean changed = list.removeAll(coll);
+        metrics.end(ListMetrics.BULK, start);
+        return changed;
+    }
+
+    public boolean retainAll(HCollection coll) {
+        long start = metrics.start(ListMetrics.BULK);
+        boolean changed = list.retainAll(coll);
+        metrics.end(ListMetrics.BULK, start);
+        return changed;
+    }
+
+    public void clear() {
+        long start = metrics.start(ListMetrics.BULK);
+        list.clear();
+        metrics.end(ListMetrics.BULK, start);
+    }
+
+    // Comparison and hashing
+
+    public boolean equals(Object obj) {
+        return obj == this || list.equals(obj);
+    }
+
+    public int hashCode() {
+        return list.hashCode();
+    }
+
+    public String toString() {
+        return list.toString();
+    }
+
+    // Iterators and views
+
+    public HIterator iterator() {
+        return list.iterator();
+    }
+
+    public HListIterator listIterator() {
+        return list.listIterator();
+    }
+
+    public HListIterator listIterator(int index) {
+        return list.listIterator(index);
+    }
+
+    /**
+     * The view is wrapped with the same metrics of this list.
+     */
+    public HList subList(int fromIndex, int toIndex) {
+        return new MeteredList((ListAdapter) list.subList(fromIndex, toIndex), metrics);
+    }
+
+    // Helpers
+
+    private void checkGrow(int capacity) {
+        if (adaptee.capacity() > capacity)
+            metrics.grown();
+    }
+
+    /**
+     * Number of elements of the whole Vector that follow position index of this list, which had size elements:
+     * the elements of the Vector after a sublist are shifted too
+     */
+    private int shiftedAfter(int index, int size) {
+        return adaptee.size() - list.offset() - index - (list.size() - size);
+    }
+}
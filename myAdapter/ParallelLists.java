@@ -0,0 +1,482 @@
+package myAdapter;
+
+import java.util.ConcurrentModificationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parallel search and bulk operations over any {@link myAdapter.HList}<br>
+ * <p>
+ * Every operation splits the list into ranges of indexes and executes them as fork/join tasks on a
+ * ForkJoinPool, the common pool unless another one is specified. The ranges are split in halves until
+ * they are small enough that each thread of the pool gets a few of them, and never under 8192 elements,
+ * so small lists are scanned by a single task.
+ * <p>
+ * The elements of a {@link myAdapter.ListAdapter} (also a sublist) are read directly from the array of its
+ * Vector, and the ones of a {@link myAdapter.CopyOnWriteList} from its current array; the elements of any other
+ * list are read with get, so that list should have a constant time get. The list must not be modified while an
+ * operation is running: a structural modification of a ListAdapter is detected at the end of the operation
+ * and causes a ConcurrentModificationException.
+ * <p>
+ * indexOf, contains, anyMatch and allMatch stop scanning as soon as the result is known: the tasks covering
+ * ranges that can't change the result skip them. An exception thrown by a predicate or by an action is thrown
+ * by the operation. The parallel operations only pay off on large lists, or with expensive predicates.
+ * <p>
+ * sort is the parallel version of {@link myAdapter.ListSort#sort(HList, HComparator)}: it sorts a ListAdapter
+ * in the array of its Vector and modifies the list, so it's the only operation that isn't a read.
+ * <p>
+ * This class is based on java.util.concurrent, so unlike the rest of the package it requires Java SE 8.
+ *
+ * @author Alessandro Marcassa
+ * @see myAdapter.HPredicate
+ * @see myAdapter.HConsumer
+ * @see myAdapter.HComparator
+ */
+public final class ParallelLists {
+
+    /**
+     * Smallest number of elements scanned by a task
+     */
+    private static final int MIN_CHUNK = 1 << 13;
+
+    private static final int INDEX_OF = 0;
+    private static final int COUNT = 1;
+    private static final int ANY_MATCH = 2;
+    private static final int ANY_FAIL = 3;
+    private static final int FOR_EACH = 4;
+
+    private ParallelLists() {
+    }
+
+    /**
+     * Returns the index of the first occurrence of the element, -1 if the list doesn't contain it
+     *
+     * @param list the list to search
+     * @param obj  the element to search, possibly null
+     * @return the index of the first occurrence of obj, -1 if it isn't present
+     */
+    public static int indexOf(HList list, Object obj) {
+        return indexOf(list, obj, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the index of the first occurrence of the element, -1 if the list doesn't contain it
+     *
+     * @param list the list to search
+     * @param obj  the element to search, possibly null
+     * @param pool the pool that executes the tasks
+     * @return the index of the first occurrence of obj, -1 if it isn't present
+     */
+    public static int indexOf(HList list, Object obj, ForkJoinPool pool) {
+        Job job = run(new Job(list, INDEX_OF, obj, null, null), pool);
+        return job.found.get() == Integer.MAX_VALUE ? -1 : job.found.get();
+    }
+
+    /**
+     * Returns true if the list contains the element
+     *
+     * @param list the list to search
+     * @param obj  the element to search, possibly null
+     * @return true if the list contains obj
+     */
+    public static boolean contains(HList list, Object obj) {
+        return indexOf(list, obj) >= 0;
+    }
+
+    /**
+     * Returns true if the list contains the element
+     *
+     * @param list the list to search
+     * @param obj  the element to search, possibly null
+     * @param pool the pool that executes the tasks
+     * @return true if the list contains obj
+     */
+    public static boolean contains(HList list, Object obj, ForkJoinPool pool) {
+        return indexOf(list, obj, pool) >= 0;
+    }
+
+    /**
+     * Returns the number of elements that satisfy the predicate
+     *
+     * @param list      the list to scan
+     * @param predicate the condition to evaluate on every element
+     * @return the number of elements for which predicate returns true
+     */
+    public static int count(HList list, HPredicate predicate) {
+        return count(list, predicate, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the number of elements that satisfy the predicate
+     *
+     * @param list      the list to scan
+     * @param predicate the condition to evaluate on every element
+     * @param pool      the pool that executes the tasks
+     * @return the number of elements for which predicate returns true
+     */
+    public static int count(HList list, HPredicate predicate, ForkJoinPool pool) {
+        return run(new Job(list, COUNT, null, predicate, null), pool).count.get();
+    }
+
+    /**
+     * Returns true if at least an element satisfies the predicate, false if the list is empty
+     *
+     * @param list      the list to scan
+     * @param predicate the condition to evaluate on the elements
+     * @return true if predicate returns true for at least an element
+     */
+    public static boolean anyMatch(HList list, HPredicate predicate) {
+        return anyMatch(list, predicate, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns true if at least an element satisfies the predicate, false if the list is empty
+     *
+     * @param list      the list to scan
+     * @param predicate the condition to evaluate on the elements
+     * @param pool      the pool that executes the tasks
+     * @return true if predicate returns true for at least an element
+     */
+    public static boolean anyMatch(HList list, HPredicate predicate, ForkJoinPool pool) {
+        return run(new Job(list, ANY_MATCH, null, predicate, null), pool).found.get() != Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns true if all the elements satisfy the predicate, true if the list is empty
+     *
+     * @param list      the list to scan
+     * @param predicate the condition to evaluate on the elements
+     * @return true if predicate returns true for all the elements
+     */
+    public static boolean allMatch(HList list, HPredicate predicate) {
+        return allMatch(list, predicate, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns true if all the elements satisfy the predicate, true if the list is empty
+     *
+     * @param list      the list to scan
+     * @param predicate the condition to evaluate on the elements
+     * @param pool      the pool that executes the tasks
+     * @return true if predicate returns true for all the elements
+     */
+    public static boolean allMatch(HList list, HPredicate predicate, ForkJoinPool pool) {
+        return run(new Job(list, ANY_FAIL, null, predicate, null), pool).found.get() == Integer.MAX_VALUE;
+    }
+
+    /**
+     * Executes the action on every element. The action is executed by many threads at the same time and
+     * in no particular order, so it must be thread-safe.
+     *
+     * @param list   the list to scan
+     * @param action the action to execute on every element
+     */
+    public static void forEach(HList list, HConsumer action) {
+        forEach(list, action, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Executes the action on every element. The action is executed by many threads at the same time and
+     * in no particular order, so it must be thread-safe.
+     *
+     * @param list   the list to scan
+     * @param action the action to execute on every element
+     * @param pool   the pool that executes the tasks
+     */
+    public static void forEach(HList list, HConsumer action, ForkJoinPool pool) {
+        run(new Job(list, FOR_EACH, null, null, action), pool);
+    }
+
+    /**
+     * Sorts the list in the order defined by the comparator, as {@link myAdapter.ListSort#sort(HList, HComparator)}.
+     * The list is split in halves that are sorted in parallel and then merged, so the sort is stable.
+     *
+     * @param list       the list to sort
+     * @param comparator the order of the elements, that must be thread-safe
+     */
+    public static void sort(HList list, HComparator comparator) {
+        sort(list, comparator, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sorts the list in the order defined by the comparator, as {@link myAdapter.ListSort#sort(HList, HComparator)}.
+     * The list is split in halves that are sorted in parallel and then merged, so the sort is stable.
+     *
+     * @param list       the list to sort
+     * @param comparator the order of the elements, that must be thread-safe
+     * @param pool       the pool that executes the tasks
+     */
+    public static void sort(HList list, HComparator comparator, ForkJoinPool pool) {
+        if (list == null || comparator == null || pool == null)
+            throw new NullPointerException();
+        if (list instanceof ListAdapter) {
+            ListAdapter adapter = (ListAdapter) list;
+            int expectedModCount = adapter.rootModCount();
+            int from = adapter.offset();
+            try {
+                sort(adapter.array(), from, from + adapter.size(), comparator, pool);
+                if (adapter.rootModCount() != expectedModCount)
+                    throw new ConcurrentModificationException();
+            } finally {
+                // the array can be partly permuted also when the sort fails
+                adapter.reordered();
+            }
+            return;
+        }
+        if (list instanceof CopyOnWriteList) {
+            CopyOnWriteList copyOnWrite = (CopyOnWriteList) list;
+            Object[] snapshot;
+            Object[] elements;
+            do {
+                snapshot = copyOnWrite.snapshot();
+                elements = copyOnWrite.toArray();
+                sort(elements, 0, elements.length, comparator, pool);
+            } while (!copyOnWrite.replace(snapshot, elements));
+            return;
+        }
+        Object[] elements = list.toArray();
+        sort(elements, 0, elements.length, comparator, pool);
+        ListSort.writeBack(list, elements);
+    }
+
+    private static void sort(Object[] a, int from, int to, HComparator comparator, ForkJoinPool pool) {
+        int chunk = Math.max(MIN_CHUNK, (to - from) / (pool.getParallelism() * 4));
+        if (to - from <= chunk)
+            ListSort.sort(a, from, to, comparator);
+        else
+            pool.invoke(new SortTask(a, from, to, comparator, chunk));
+    }
+
+    /**
+     * Executes the job on the pool and checks that the list hasn't been modified in the meantime
+     */
+    private static Job run(Job job, ForkJoinPool pool) {
+        if (job.size == 0)
+            return job;
+        job.chunk = Math.max(MIN_CHUNK, job.size / (pool.getParallelism() * 4));
+        RangeTask task = new RangeTask(job, 0, job.size);
+        if (job.size <= job.chunk)
+            task.scan();
+        else
+            pool.invoke(task);
+        if (job.adapter != null && job.adapter.rootModCount() != job.expectedModCount)
+            throw new ConcurrentModificationException();
+        return job;
+    }
+
+    /**
+     * Returns the index of the first occurrence of target in the range [from, to) of the list whose elements
+     * are in the array starting at offset, -1 if it isn't present
+     */
+    private static int find(Object target, Object[] data, int offset, int from, int to) {
+        if (target == null) {
+            for (int i = offset + from; i < offset + to; i++)
+                if (data[i] == null)
+                    return i - offset;
+        } else {
+            for (int i = offset + from; i < offset + to; i++)
+                if (target.equals(data[i]))
+                    return i - offset;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first occurrence of target in the range [from, to) of the list, -1 if it isn't present
+     */
+    private static int find(Object target, HList list, int from, int to) {
+        for (int i = from; i < to; i++) {
+            Object e = list.get(i);
+            if (target == null ? e == null : target.equals(e))
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * State shared by all the tasks of an operation
+     */
+    private static final class Job {
+        final HList list;
+        final int op;
+        final Object target;
+        final HPredicate predicate;
+        final HConsumer action;
+
+        /**
+         * The array that contains the elements from offset, null if they are read with get
+         */
+        final Object[] data;
+        final int offset;
+        final int size;
+
+        /**
+         * The ListAdapter whose modifications are checked at the end, null for the other lists
+         */
+        final ListAdapter adapter;
+        final int expectedModCount;
+
+        int chunk;
+
+        /**
+         * Lowest index that satisfies the search, Integer.MAX_VALUE until one is found
+         */
+        final AtomicInteger found = new AtomicInteger(Integer.MAX_VALUE);
+
+        final AtomicInteger count = new AtomicInteger();
+
+        Job(HList list, int op, Object target, HPredicate predicate, HConsumer action) {
+            if (list == null || (predicate == null && (op == COUNT || op == ANY_MATCH || op == ANY_FAIL))
+                    || (action == null && op == FOR_EACH))
+                throw new NullPointerException();
+            this.list = list;
+            this.op = op;
+            this.target = target;
+            this.predicate = predicate;
+            this.action = action;
+            if (list instanceof ListAdapter) {
+                adapter = (ListAdapter) list;
+                expectedModCount = adapter.rootModCount();
+                size = adapter.size();
+                data = adapter.array();
+                offset = adapter.offset();
+            } else if (list instanceof CopyOnWriteList) {
+                adapter = null;
+                expectedModCount = 0;
+                data = ((CopyOnWriteList) list).snapshot();
+                size = data.length;
+                offset = 0;
+            } else {
+                adapter = null;
+                expectedModCount = 0;
+                data = null;
+                size = list.size();
+                offset = 0;
+            }
+        }
+
+        /**
+         * Returns true if the scan of the elements from index on can't change the result: for indexOf if
+         * a lower index has already been found, for anyMatch and allMatch if any index has been found
+         */
+        boolean done(int index) {
+            int current = found.get();
+            return op == INDEX_OF ? current < index : current != Integer.MAX_VALUE;
+        }
+
+        /**
+         * Records that the element at index satisfies the search, keeping the lowest index
+         */
+        void found(int index) {
+            int current;
+            while (index < (current = found.get()))
+                if (found.compareAndSet(current, index))
+                    return;
+        }
+    }
+
+    /**
+     * Task that sorts the range [lo, hi) of an array: the halves are sorted by two subtasks and then merged
+     */
+    private static final class SortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final Object[] a;
+        private final int lo;
+        private final int hi;
+        private final HComparator comparator;
+        private final int chunk;
+
+        SortTask(Object[] a, int lo, int hi, HComparator comparator, int chunk) {
+            this.a = a;
+            this.lo = lo;
+            this.hi = hi;
+            this.comparator = comparator;
+            this.chunk = chunk;
+        }
+
+        protected void compute() {
+            if (hi - lo <= chunk) {
+                ListSort.sort(a, lo, hi, comparator);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SortTask(a, lo, mid, comparator, chunk), new SortTask(a, mid, hi, comparator, chunk));
+            ListSort.merge(a, lo, mid, hi, comparator, null);
+        }
+    }
+
+    /**
+     * Task that executes the operation on the indexes in the range [lo, hi)
+     */
+    private static final class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final Job job;
+        private final int lo;
+        private final int hi;
+
+        RangeTask(Job job, int lo, int hi) {
+            this.job = job;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        protected void compute() {
+            if (job.done(lo))
+                return;
+            if (hi - lo <= job.chunk) {
+                scan();
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new RangeTask(job, lo, mid), new RangeTask(job, mid, hi));
+        }
+
+        /**
+         * Scans the range in the calling thread. The searches check every 1024 elements whether another task
+         * has already found a lower index.
+         */
+        void scan() {
+            Job job = this.job;
+            Object[] data = job.data;
+            HList list = job.list;
+            int offset = job.offset;
+            switch (job.op) {
+                case INDEX_OF:
+                    // blocks of 1024 elements, between two blocks the task stops if a lower index has been found
+                    Object target = job.target;
+                    for (int start = lo; start < hi && !job.done(start); start += 1024) {
+                        int end = Math.min(hi, start + 1024);
+                        int i = data != null ? find(target, data, offset, start, end) : find(target, list, start, end);
+                        if (i >= 0) {
+                            job.found(i);
+                            return;
+                        }
+                    }
+                    break;
+                case COUNT:
+                    int count = 0;
+                    for (int i = lo; i < hi; i++)
+                        if (job.predicate.test(data != null ? data[offset + i] : list.get(i)))
+                            count++;
+                    job.count.addAndGet(count);
+                    break;
+                case ANY_MATCH:
+                case ANY_FAIL:
+                    boolean wanted = job.op == ANY_MATCH;
+                    for (int i = lo; i < hi; i++) {
+                        if (job.predicate.test(data != null ? data[offset + i] : list.get(i)) == wanted) {
+                            job.found(i);
+                            return;
+                        }
+                        if ((i & 1023) == 0 && job.done(i))
+                            return;
+                    }
+                    break;
+                default:
+                    for (int i = lo; i < hi; i++)
+                        job.action.accept(data != null ? data[offset + i] : list.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package myAdapter;
+
+/**
+ * Implementation of {@link myAdapter.HList} whose elements are always sorted by a {@link myAdapter.HComparator}<br>
+ * <p>
+ * The elements are kept in an array in ascending order, so the searches are binary searches: indexOf,
+ * lastIndexOf and contains cost O(log n) plus the number of elements equal for the comparator, against the
+ * linear scan of a {@link myAdapter.ListAdapter}. {@link #add(Object)} inserts the element in its position,
+ * after the equal ones, shifting the tail with a single System.arraycopy, and {@link #addAll(HCollection)}
+ * merges the new elements with the list in O(n + m), after sorting them with {@link myAdapter.ListSort}
+ * (which costs O(m) if they are already sorted). The order of the equal elements is the insertion order.
+ * <p>
+ * The positional insertions (add(int, Object), addAll(int, HCollection), the add of the iterators) and set
+ * are allowed only where they keep the list sorted, otherwise they throw IllegalArgumentException.
+ * <p>
+ * The comparator is also used by the searches, which consider only the elements equal to the searched one for
+ * the comparator and among them return the first one equal for equals. So the comparator must be consistent
+ * with equals, and it must accept every element and every searched object: if it throws ClassCastException,
+ * so do the searches.
+ *
+ * @author Alessandro Marcassa
+ * @see myAdapter.HList
+ * @see myAdapter.HComparator
+ */
+public class SortedList extends AbstractHList {
+    private final HComparator comparator;
+    private Object[] elementData;
+    private int size;
+
+    /**
+     * Creates an empty list sorted by the comparator
+     *
+     * @param comparator the order of the elements
+     * @throws NullPointerException if comparator is null
+     */
+    public SortedList(HComparator comparator) {
+        this(comparator, 10);
+    }
+
+    /**
+     * Creates an empty list sorted by the comparator, with the specified capacity
+     *
+     * @param comparator      the order of the elements
+     * @param initialCapacity the initial capacity of the list
+     * @throws NullPointerException     if comparator is null
+     * @throws IllegalArgumentException if initialCapacity is negative
+     */
+    public SortedList(HComparator comparator, int initialCapacity) {
+        if (comparator == null)
+            throw new NullPointerException();
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+        this.comparator = comparator;
+        elementData = new Object[initialCapacity];
+    }
+
+    /**
+     * Creates a list containing the elements of the specified collection, sorted by the comparator
+     *
+     * @param comparator the order of the elements
+     * @param coll       the collection whose elements are placed into this list
+     * @throws NullPointerException if comparator or coll are null
+     */
+    public SortedList(HComparator comparator, HCollection coll) {
+        this(comparator, coll.size());
+        addAll(coll);
+    }
+
+    /**
+     * Returns the comparator that sorts the list
+     *
+     * @return the comparator of the list
+     */
+    public HComparator comparator() {
+        return comparator;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Object get(int index) {
+        rangeCheck(index);
+        return elementData[index];
+    }
+
+    /**
+     * The element can replace the one at index only if it keeps the list sorted.
+     *
+     * @throws IllegalArgumentException if the list wouldn't be sorted
+     */
+    public Object set(int index, Object element) {
+        rangeCheck(index);
+        checkOrder(index, element, index + 1);
+        Object old = elementData[index];
+        elementData[index] = element;
+        return old;
+    }
+
+    /**
+     * Inserts the element after the elements that aren't greater, with a single shift of the tail.
+     */
+    public boolean add(Object obj) {
+        insert(upperBound(obj), obj);
+        return true;
+    }
+
+    /**
+     * The element can be inserted at index only if it keeps the list sorted.
+     *
+     * @throws IllegalArgumentException if the list wouldn't be sorted
+     */
+    public void add(int index, Object element) {
+        rangeCheckForAdd(index);
+        checkOrder(index, element, index);
+        insert(index, element);
+    }
+
+    public Object remove(int index) {
+        rangeCheck(index);
+        Object old = elementData[index];
+        System.arraycopy(elementData, index + 1, elementData, index, size - index - 1);
+        elementData[--size] = null;
+        modCount++;
+        return old;
+    }
+
+    /**
+     * Sorts the new elements, unless coll is a SortedList with the same comparator, then merges them with the
+     * list from the end of the array, so every element is moved only once.
+     */
+    public boolean addAll(HCollection coll) {
+        Object[] added = coll.toArray();
+        int m = added.length;
+        if (m == 0)
+            return false;
+        if (!(coll instanceof SortedList && ((SortedList) coll).comparator == comparator))
+            ListSort.sort(added, 0, m, comparator);
+        ensureCapacity(size + m);
+        Object[] data = elementData;
+        int i = size - 1;
+        int j = m - 1;
+        int k = size + m - 1;
+        // on equal elements the new one goes after the ones already in the list
+        while (j >= 0) {
+            if (i >= 0 && comparator.compare(data[i], added[j]) > 0)
+                data[k--] = data[i--];
+            else
+                data[k--] = added[j--];
+        }
+        size += m;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * The elements can be inserted at index only if they are sorted and keep the list sorted; they are copied
+     * with a single shift of the tail.
+     *
+     * @throws IllegalArgumentException if the list wouldn't be sorted
+     */
+    public boolean addAll(int index, HCollection coll) {
+        rangeCheckForAdd(index);
+        Object[] added = coll.toArray();
+        int m = added.length;
+        if (m == 0)
+            return false;
+        for (int i = 1; i < m; i++)
+            if (comparator.compare(added[i - 1], added[i]) > 0)
+                throw new IllegalArgumentException("Elements not sorted");
+        checkOrder(index, added[0], size);
+        checkOrder(0, added[m - 1], index);
+        ensureCapacity(size + m);
+        System.arraycopy(elementData, index, elementData, index + m, size - index);
+        System.arraycopy(added, 0, elementData, index, m);
+        size += m;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Compacts the list with a single pass, the remaining elements are still sorted.
+     */
+    boolean batchRemove(HCollection coll, boolean retain) {
+        if (coll == null)
+            throw new NullPointerException();
+        int kept = 0;
+        for (int i = 0; i < size; i++)
+            if (coll.contains(elementData[i]) == retain)
+                elementData[kept++] = elementData[i];
+        if (kept == size)
+            return false;
+        clearTail(elementData, kept);
+        size = kept;
+        modCount++;
+        return true;
+    }
+
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex >= toIndex)
+            return;
+        System.arraycopy(elementData, toIndex, elementData, fromIndex, size - toIndex);
+        int newSize = size - (toIndex - fromIndex);
+        for (int i = newSize; i < size; i++)
+            elementData[i] = null;
+        size = newSize;
+        modCount++;
+    }
+
+    /**
+     * Binary search of the first element equal for the comparator, then linear search of the first one equal
+     * for equals among the following ones equal for the comparator.
+     */
+    public int indexOf(Object obj) {
+        for (int i = lowerBound(obj); i < size && comparator.compare(elementData[i], obj) == 0; i++)
+            if (eq(obj, elementData[i]))
+                return i;
+        return -1;
+    }
+
+    /**
+     * Binary search of the last element equal for the comparator, then linear search backwards of the last
+     * one equal for equals.
+     */
+    public int lastIndexOf(Object obj) {
+        for (int i = upperBound(obj) - 1; i >= 0 && comparator.compare(elementData[i], obj) == 0; i--)
+            if (eq(obj, elementData[i]))
+                return i;
+        return -1;
+    }
+
+    public Object[] toArray() {
+        Object[] result = new Object[size];
+        System.arraycopy(elementData, 0, result, 0, size);
+        return result;
+    }
+
+    public Object[] toArray(Object[] arrayTarget) {
+        if (arrayTarget.length < size)
+            arrayTarget = newArray(arrayTarget, size);
+        System.arraycopy(elementData, 0, arrayTarget, 0, size);
+        clearTail(arrayTarget, size);
+        return arrayTarget;
+    }
+
+    // Helpers
+
+    /**
+     * Index of the first element not less than obj, size if there is none
+     */
+    private int lowerBound(Object obj) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (comparator.compare(elementData[mid], obj) < 0)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Index of the first element greater than obj, size if there is none
+     */
+    private int upperBound(Object obj) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (comparator.compare(elementData[mid], obj) <= 0)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Checks that element isn't less than the element before before, nor greater than the element at after
+     */
+    private void checkOrder(int before, Object element, int after) {
+        if ((before > 0 && comparator.compare(elementData[before - 1], element) > 0)
+                || (after < size && comparator.compare(element, elementData[after]) > 0))
+            throw new IllegalArgumentException("Element out of order: " + element);
+    }
+
+    private void insert(int index, Object element) {
+        ensureCapacity(size + 1);
+        System.arraycopy(elementData, index, elementData, index + 1, size - index);
+        elementData[index] = element;
+        size++;
+        modCount++;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > elementData.length) {
+            Object[] grown = new Object[Math.max(elementData.length * 2, minCapacity)];
+            System.arraycopy(elementData, 0, grown, 0, size);
+            elementData = grown;
+        }
+    }
+}
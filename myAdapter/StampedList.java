@@ -0,0 +1,340 @@
+package myAdapter;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Thread-safe wrapper of any {@link myAdapter.HList}, based on a StampedLock<br>
+ * <p>
+ * The short reads (get, size, isEmpty, contains, indexOf and lastIndexOf) are first executed as optimistic
+ * reads, without taking any lock: the result is returned only if no write has been done in the meantime,
+ * otherwise the read is repeated holding the read lock. So the readers never block each other, and they
+ * block only behind a writer that is actually running. The reads that traverse the whole list (toArray,
+ * containsAll, equals, hashCode and toString) hold the read lock, the modifications hold the write lock.
+ * <p>
+ * An optimistic read can observe the wrapped list in the middle of a modification, and in that case the
+ * wrapped list can throw an exception: the exception is ignored if the validation fails, since the read
+ * will be repeated under the lock, and thrown only if the validation succeeds.
+ * <p>
+ * The single operations are atomic; a compound operation must hold the lock returned by {@link #lock()}
+ * for its whole duration. The same holds for the iterators, which aren't synchronized:
+ * <pre>
+ * long stamp = list.lock().writeLock();
+ * try {
+ *     HIterator it = list.iterator();
+ *     while (it.hasNext())
+ *         if (it.next() == null)
+ *             it.remove();
+ * } finally {
+ *     list.lock().unlockWrite(stamp);
+ * }
+ * </pre>
+ * The modifications done through an iterator or a sublist obtained from the wrapped list must hold the write
+ * lock, otherwise the optimistic reads can't notice them. The sublists returned by {@link #subList(int, int)}
+ * are wrapped with the same lock, so they can be used as this list.
+ * <p>
+ * This class is based on java.util.concurrent.locks.StampedLock, so unlike the rest of the package it
+ * requires Java SE 8.
+ *
+ * @author Alessandro Marcassa
+ * @see myAdapter.HList
+ */
+public class StampedList implements HList, HCollection {
+    private static final int SIZE = 0;
+    private static final int INDEX_OF = 1;
+    private static final int LAST_INDEX_OF = 2;
+
+    private final HList list;
+    private final StampedLock lock;
+
+    /**
+     * Creates a thread-safe wrapper of the list, every access to the list must go through the wrapper
+     *
+     * @param list the list to wrap
+     * @throws NullPointerException if list is null
+     */
+    public StampedList(HList list) {
+        this(list, new StampedLock());
+    }
+
+    private StampedList(HList list, StampedLock lock) {
+        if (list == null)
+            throw new NullPointerException();
+        this.list = list;
+        this.lock = lock;
+    }
+
+    /**
+     * Returns the lock that protects the list, to be held for the compound operations and the iterations
+     *
+     * @return the lock of the list
+     */
+    public StampedLock lock() {
+        return lock;
+    }
+
+    // Optimistic reads
+
+    public int size() {
+        return readInt(SIZE, null);
+    }
+
+    public boolean isEmpty() {
+        return readInt(SIZE, null) == 0;
+    }
+
+    public boolean contains(Object obj) {
+        return readInt(INDEX_OF, obj) >= 0;
+    }
+
+    public int indexOf(Object obj) {
+        return readInt(INDEX_OF, obj);
+    }
+
+    public int lastIndexOf(Object obj) {
+        return readInt(LAST_INDEX_OF, obj);
+    }
+
+    public Object get(int index) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                Object element = list.get(index);
+                if (lock.validate(stamp))
+                    return element;
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp))
+                    throw e;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return list.get(index);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Executes a read that returns an int first as an optimistic read, then under the read lock
+     * if a write has intervened
+     *
+     * @param op  the read to execute: SIZE, INDEX_OF or LAST_INDEX_OF
+     * @param obj the argument of the read
+     * @return the result of the read
+     */
+    private int readInt(int op, Object obj) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                int result = execute(op, obj);
+                if (lock.validate(stamp))
+                    return result;
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp))
+                    throw e;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return execute(op, obj);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private int execute(int op, Object obj) {
+        switch (op) {
+            case SIZE:
+                return list.size();
+            case INDEX_OF:
+                return list.indexOf(obj);
+            default:
+                return list.lastIndexOf(obj);
+        }
+    }
+
+    // Reads under the read lock
+
+    public Object[] toArray() {
+        long stamp = lock.readLock();
+        try {
+            return list.toArray();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public Object[] toArray(Object[] arrayTarget) {
+        long stamp = lock.readLock();
+        try {
+            return list.toArray(arrayTarget);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean containsAll(HCollection coll) {
+        long stamp = lock.readLock();
+        try {
+            return list.containsAll(coll);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean equals(Object obj) {
+        if (obj == this)
+            return true;
+        long stamp = lock.readLock();
+        try {
+            return list.equals(obj);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int hashCode() {
+        long stamp = lock.readLock();
+        try {
+            return list.hashCode();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public String toString() {
+        long stamp = lock.readLock();
+        try {
+            return list.toString();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Modifications under the write lock
+
+    public Object set(int index, Object element) {
+        long stamp = lock.writeLock();
+        try {
+            return list.set(index, element);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean add(Object obj) {
+        long stamp = lock.writeLock();
+        try {
+            return list.add(obj);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void add(int index, Object element) {
+        long stamp = lock.writeLock();
+        try {
+            list.add(index, element);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public Object remove(int index) {
+        long stamp = lock.writeLock();
+        try {
+            return list.remove(index);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean remove(Object obj) {
+        long stamp = lock.writeLock();
+        try {
+            return list.remove(obj);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean addAll(HCollection coll) {
+        long stamp = lock.writeLock();
+        try {
+            return list.addAll(coll);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean addAll(int index, HCollection coll) {
+        long stamp = lock.writeLock();
+        try {
+            return list.addAll(index, coll);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean removeAll(HCollection coll) {
+        long stamp = lock.writeLock();
+        try {
+            return list.removeAll(coll);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean retainAll(HCollection coll) {
+        long stamp = lock.writeLock();
+        try {
+            return list.retainAll(coll);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            list.clear();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Iterators and views
+
+    /**
+     * The iterator isn't synchronized, the caller must hold the lock for the whole iteration.
+     */
+    public HIterator iterator() {
+        return list.iterator();
+    }
+
+    /**
+     * The iterator isn't synchronized, the caller must hold the lock for the whole iteration.
+     */
+    public HListIterator listIterator() {
+        return list.listIterator();
+    }
+
+    /**
+     * The iterator isn't synchronized, the caller must hold the lock for the whole iteration.
+     */
+    public HListIterator listIterator(int index) {
+        return list.listIterator(index);
+    }
+
+    /**
+     * The view is wrapped with the lock of this list.
+     */
+    public HList subList(int fromIndex, int toIndex) {
+        long stamp = lock.readLock();
+        try {
+            return new StampedList(list.subList(fromIndex, toIndex), lock);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package myAdapter;
+
+/**
+ * Implementation of {@link myAdapter.HList} backed by a tiered vector<br>
+ * <p>
+ * The elements are divided into chunks of k elements, where k is a power of two close to the square
+ * root of the size. Every chunk is a circular buffer, and all the chunks are full except the last one,
+ * so the element at index i is always in the chunk i / k: get and set cost O(1).
+ * <p>
+ * An insertion or a removal shifts the elements only inside the chunk of the index, then moves a single
+ * element across each of the following chunks, taking it from the end of a chunk and putting it at the
+ * beginning of the next one (or vice versa). Both moves cost O(1) in a circular buffer, so a positional
+ * insert or remove costs O(k + n / k) = O(&radic;n), against the O(n) of the shift of the whole tail in a
+ * {@link myAdapter.ListAdapter}.
+ * <p>
+ * When the size grows past 2k<sup>2</sup> or falls under k<sup>2</sup>/8 the elements are redistributed in
+ * chunks of the new size; the thresholds are far enough apart that the cost of the redistribution is
+ * amortized over the operations.
+ *
+ * @author Alessandro Marcassa
+ * @see myAdapter.HList
+ * @see myAdapter.GapList
+ */
+public class TieredList extends AbstractHList {
+
+    /**
+     * Logarithm of the smallest chunk size
+     */
+    private static final int MIN_SHIFT = 4;
+
+    /**
+     * Logarithm of the largest chunk size
+     */
+    private static final int MAX_SHIFT = 15;
+
+    /**
+     * The chunks, only the first (size + k - 1) / k are guaranteed to be allocated
+     */
+    private Object[][] chunks;
+
+    /**
+     * Position in its chunk of the first element of every chunk
+     */
+    private int[] heads;
+
+    /**
+     * Logarithm of the chunk size k
+     */
+    private int shift;
+
+    /**
+     * k - 1, the mask that reduces an index to its position in a chunk
+     */
+    private int mask;
+
+    private int size;
+
+    public TieredList() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty list whose chunks are sized for the specified number of elements
+     *
+     * @param initialCapacity the expected number of elements
+     * @throws IllegalArgumentException if initialCapacity is negative
+     */
+    public TieredList(int initialCapacity) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+        init(shiftFor(initialCapacity), initialCapacity);
+    }
+
+    /**
+     * Creates a list containing the elements of the specified collection, in the order
+     * returned by its iterator
+     *
+     * @param coll the collection whose elements are placed into this list
+     * @throws NullPointerException if coll is null
+     */
+    public TieredList(HCollection coll) {
+        Object[] elements = coll.toArray();
+        rebuild(elements, elements.length);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Object get(int index) {
+        rangeCheck(index);
+        int c = index >>> shift;
+        return chunks[c][(heads[c] + index) & mask];
+    }
+
+    public Object set(int index, Object element) {
+        rangeCheck(index);
+        int c = index >>> shift;
+        int pos = (heads[c] + index) & mask;
+        Object old = chunks[c][pos];
+        chunks[c][pos] = element;
+        return old;
+    }
+
+    /**
+     * Appending only writes into the last chunk, without moving any element.
+     */
+    public boolean add(Object obj) {
+        if (overfull())
+            rebuild(toArray(), size);
+        int c = size >>> shift;
+        Object[] chunk = chunk(c);
+        chunk[(heads[c] + size) & mask] = obj;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Shifts the elements of the chunk of index, then carries one element from every chunk to the next one.
+     */
+    public void add(int index, Object element) {
+        rangeCheckForAdd(index);
+        if (index == size) {
+            add(element);
+            return;
+        }
+        if (overfull())
+            rebuild(toArray(), size);
+        int c = index >>> shift;
+        int last = size >>> shift;
+        chunk(last);
+        for (int j = last; j > c; j--)
+            pushFront(j, popBack(j - 1));
+        insertInChunk(c, index & mask, count(c) - (c < last ? 1 : 0), element);
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Shifts the elements of the chunk of index, then carries one element from every chunk to the previous one.
+     */
+    public Object remove(int index) {
+        rangeCheck(index);
+        int c = index >>> shift;
+        int last = (size - 1) >>> shift;
+        Object old = removeFromChunk(c, index & mask, count(c));
+        for (int j = c + 1; j <= last; j++)
+            pushBack(j - 1, popFront(j));
+        size--;
+        modCount++;
+        if (shift > MIN_SHIFT && size < (1 << (shift << 1)) >>> 3)
+            rebuild(toArray(), size);
+        return old;
+    }
+
+    /**
+     * Inserts the elements one at a time when they are few, otherwise redistributes the whole list once.
+     */
+    public boolean addAll(int index, HCollection coll) {
+        rangeCheckForAdd(index);
+        Object[] elements = coll.toArray();
+        int added = elements.length;
+        if (added == 0)
+            return false;
+        if (index == size || added < (size >>> shift)) {
+            for (int i = 0; i < added; i++)
+                add(index++, elements[i]);
+            return true;
+        }
+        Object[] merged = new Object[size + added];
+        copyInto(0, merged, 0, index);
+        System.arraycopy(elements, 0, merged, index, added);
+        copyInto(index, merged, index + added, size - index);
+        rebuild(merged, merged.length);
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Removes the elements one at a time when they are few, otherwise redistributes the remaining ones once.
+     */
+    protected void removeRange(int fromIndex, int toIndex) {
+        int removed = toIndex - fromIndex;
+        if (removed <= 0)
+            return;
+        if (removed < (size >>> shift)) {
+            super.removeRange(fromIndex, toIndex);
+            return;
+        }
+        Object[] remaining = new Object[size - removed];
+        copyInto(0, remaining, 0, fromIndex);
+        copyInto(toIndex, remaining, fromIndex, size - toIndex);
+        rebuild(remaining, remaining.length);
+        modCount++;
+    }
+
+    public void clear() {
+        init(MIN_SHIFT, 0);
+        modCount++;
+    }
+
+    public int indexOf(Object obj) {
+        for (int i = 0; i < size; i++)
+            if (eq(obj, chunks[i >>> shift][(heads[i >>> shift] + i) & mask]))
+                return i;
+        return -1;
+    }
+
+    public int lastIndexOf(Object obj) {
+        for (int i = size - 1; i >= 0; i--)
+            if (eq(obj, chunks[i >>> shift][(heads[i >>> shift] + i) & mask]))
+                return i;
+        return -1;
+    }
+
+    public Object[] toArray() {
+        Object[] result = new Object[size];
+        copyInto(0, result, 0, size);
+        return result;
+    }
+
+    public Object[] toArray(Object[] arrayTarget) {
+        if (arrayTarget.length < size)
+            arrayTarget = newArray(arrayTarget, size);
+        copyInto(0, arrayTarget, 0, size);
+        clearTail(arrayTarget, size);
+        return arrayTarget;
+    }
+
+    // Chunk operations
+
+    /**
+     * Number of elements in the chunk c
+     */
+    private int count(int c) {
+        return Math.min(mask + 1, size - (c << shift));
+    }
+
+    /**
+     * Returns the chunk c, allocating it and enlarging the table of the chunks if needed
+     */
+    private Object[] chunk(int c) {
+        if (c == chunks.length) {
+            Object[][] newChunks = new Object[c * 2][];
+            int[] newHeads = new int[c * 2];
+            System.arraycopy(chunks, 0, newChunks, 0, c);
+            System.arraycopy(heads, 0, newHeads, 0, c);
+            chunks = newChunks;
+            heads = newHeads;
+        }
+        if (chunks[c] == null)
+            chunks[c] = new Object[mask + 1];
+        return chunks[c];
+    }
+
+    private void pushFront(int c, Object element) {
+        heads[c] = (heads[c] - 1) & mask;
+        chunks[c][heads[c]] = element;
+    }
+
+    private Object popBack(int c) {
+        Object[] chunk = chunks[c];
+        int pos = (heads[c] + mask) & mask;
+        Object element = chunk[pos];
+        chunk[pos] = null;
+        return element;
+    }
+
+    private void pushBack(int c, Object element) {
+        chunks[c][(heads[c] + mask) & mask] = element;
+    }
+
+    private Object popFront(int c) {
+        Object[] chunk = chunks[c];
+        int head = heads[c];
+        Object element = chunk[head];
+        chunk[head] = null;
+        heads[c] = (head + 1) & mask;
+        return element;
+    }
+
+    /**
+     * Inserts the element at the position offset of the chunk c, that holds count elements and has at
+     * least a free slot. The shorter side of the chunk is shifted.
+     */
+    private void insertInChunk(int c, int offset, int count, Object element) {
+        Object[] chunk = chunks[c];
+        int head = heads[c];
+        if (offset < count - offset) {
+            head = (head - 1) & mask;
+            for (int i = 0; i < offset; i++)
+                chunk[(head + i) & mask] = chunk[(head + i + 1) & mask];
+            heads[c] = head;
+        } else {
+            for (int i = count; i > offset; i--)
+                chunk[(head + i) & mask] = chunk[(head + i - 1) & mask];
+        }
+        chunk[(head + offset) & mask] = element;
+    }
+
+    /**
+     * Removes the element at the position offset of the chunk c, that holds count elements, shifting
+     * the shorter side of the chunk. The freed slot is left at the end of the chunk when count is k,
+     * where the element carried from the next chunk will be put.
+     */
+    private Object removeFromChunk(int c, int offset, int count) {
+        Object[] chunk = chunks[c];
+        int head = heads[c];
+        Object old = chunk[(head + offset) & mask];
+        if (offset < count - offset - 1) {
+            for (int i = offset; i > 0; i--)
+                chunk[(head + i) & mask] = chunk[(head + i - 1) & mask];
+            chunk[head] = null;
+            heads[c] = (head + 1) & mask;
+        } else {
+            for (int i = offset; i < count - 1; i++)
+                chunk[(head + i) & mask] = chunk[(head + i + 1) & mask];
+            chunk[(head + count - 1) & mask] = null;
+        }
+        return old;
+    }
+
+    /**
+     * Copies length elements starting from index into target, with at most two block copies per chunk
+     */
+    private void copyInto(int index, Object[] target, int targetPos, int length) {
+        while (length > 0) {
+            int c = index >>> shift;
+            int pos = (heads[c] + index) & mask;
+            int n = Math.min(length, Math.min(mask + 1 - (index & mask), mask + 1 - pos));
+            System.arraycopy(chunks[c], pos, target, targetPos, n);
+            index += n;
+            targetPos += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * Redistributes the first count elements of the array in chunks sized for count
+     */
+    private void rebuild(Object[] elements, int count) {
+        init(shiftFor(count), count);
+        for (int c = 0; (c << shift) < count; c++)
+            System.arraycopy(elements, c << shift, chunk(c), 0, Math.min(mask + 1, count - (c << shift)));
+        size = count;
+    }
+
+    /**
+     * Empties the list, preparing the table for capacity elements in chunks of 1 &lt;&lt; shift elements
+     */
+    private void init(int shift, int capacity) {
+        this.shift = shift;
+        this.mask = (1 << shift) - 1;
+        int n = Math.max(1, (capacity + mask) >>> shift);
+        chunks = new Object[n][];
+        heads = new int[n];
+        size = 0;
+    }
+
+    /**
+     * True when the size has reached 2k<sup>2</sup> and the chunks must grow. With the largest chunks
+     * (k = 2<sup>15</sup>) any int size fits, so the list is never redistributed again.
+     */
+    private boolean overfull() {
+        return shift < MAX_SHIFT && size >= (2 << (shift << 1));
+    }
+
+    /**
+     * Logarithm of the chunk size for count elements: the smallest k not below the square root of count
+     */
+    private static int shiftFor(int count) {
+        int shift = MIN_SHIFT;
+        while ((1 << (shift << 1)) < count && shift < MAX_SHIFT)
+            shift++;
+        return shift;
+    }
+}
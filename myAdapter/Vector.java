@@ -15,18 +15,71 @@ import java.util.Objects;
  */
 public class Vector {
 
-    java.util.Vector vector;
+    Elements vector;
 
     public Vector() {
-        vector = new java.util.Vector();
+        vector = new Elements(10, 0);
     }
 
     public Vector(int initialCapacity) {
-        vector = new java.util.Vector(initialCapacity);
+        vector = new Elements(initialCapacity, 0);
     }
 
     public Vector(int initialCapacity, int capacityIncrement) {
-        vector = new java.util.Vector(initialCapacity, capacityIncrement);
+        vector = new Elements(initialCapacity, capacityIncrement);
+    }
+
+    /**
+     * Constructor for the subclasses that keep the elements in their own storage,
+     * such as {@link myAdapter.ArrayVector}
+     *
+     * @param vector the wrapped vector, null if it's never used
+     */
+    Vector(Elements vector) {
+        this.vector = vector;
+    }
+
+    /**
+     * Returns the array in which the elements are saved. Only the first size() positions are valid;
+     * the array can be replaced by any method that makes the vector grow or shrink.
+     * It's used by {@link myAdapter.ListAdapter} to move blocks of elements with System.arraycopy.
+     *
+     * @return the backing array of the vector
+     */
+    Object[] array() {
+        return vector.array();
+    }
+
+    /**
+     * Replaces the array with one of exactly the specified length, that can be smaller or larger than the
+     * current one. It's used by {@link myAdapter.ListAdapter} to apply its own growth and shrink policies,
+     * since ensureCapacity always grows at least by the capacity increment (or doubles the array).
+     *
+     * @param capacity the new capacity, not smaller than size()
+     */
+    void setCapacity(int capacity) {
+        vector.setCapacity(capacity);
+    }
+
+    /**
+     * java.util.Vector that gives access to its protected array, as CLDC 1.1 allows to the subclasses
+     */
+    static class Elements extends java.util.Vector {
+        private static final long serialVersionUID = 1L;
+
+        Elements(int initialCapacity, int capacityIncrement) {
+            super(initialCapacity, capacityIncrement);
+        }
+
+        Object[] array() {
+            return elementData;
+        }
+
+        synchronized void setCapacity(int capacity) {
+            Object[] resized = new Object[capacity];
+            System.arraycopy(elementData, 0, resized, 0, elementCount);
+            elementData = resized;
+        }
     }
 
     public void addElement(Object obj){
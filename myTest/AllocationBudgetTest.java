@@ -0,0 +1,206 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Allocation and CPU time per operation of {@link myAdapter.ListAdapter}
+ * <p>
+ * <p>
+ * Summary: this class runs the main scenarios of {@link myTest.ListTest} and {@link myTest.TestList} many times
+ * and measures the bytes allocated and the CPU time of the current thread per operation, to catch the changes
+ * that make a hot path start allocating
+ * <br><br>
+ * Design test: every scenario runs once to warm up and once measured, on a ListAdapter over a Vector and over an
+ * ArrayVector; the bytes come from com.sun.management.ThreadMXBean.getThreadAllocatedBytes and the time from
+ * getCurrentThreadCpuTime. The measures are printed and compared with the budgets: every scenario has a default
+ * budget of bytes, which can be changed with the system property budget.&lt;scenario&gt;.bytes (for example
+ * -Dbudget.get.bytes=0.5), while the CPU time is only checked when budget.&lt;scenario&gt;.nanos is set, because
+ * it depends on the host running the tests. An allocation per operation costs at least 16 bytes, so a budget of
+ * 0.01 bytes/op only tolerates the noise of the measure
+ * <br><br>
+ * Preconditions: the JVM supports the measure of the allocated bytes and of the thread CPU time, otherwise the
+ * tests are skipped
+ * <br><br>
+ * Postconditions: every scenario stays within its configured budgets
+ * <br><br>
+ * Execution variables:
+ * <br>int OPERATIONS - number of operations measured per scenario
+ * <br><br>
+ *
+ * @author Alessandro Marcassa
+ * @see myAdapter.ListAdapter
+ */
+public class AllocationBudgetTest {
+    private static final int OPERATIONS = 200000;
+    private static final int SIZE = 1000;
+
+    private static com.sun.management.ThreadMXBean threads;
+    private static Integer[] values;
+
+    /**
+     * Scenario that executes count operations on a list
+     */
+    private interface Scenario {
+        void run(HList list, int count);
+    }
+
+    /**
+     * Enables the measures, or skips the tests if the JVM doesn't support them
+     */
+    @BeforeClass
+    public static void setUpClass() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isCurrentThreadCpuTimeSupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        threads.setThreadCpuTimeEnabled(true);
+        values = new Integer[SIZE];
+        for (int i = 0; i < SIZE; i++)
+            values[i] = new Integer(i);
+    }
+
+    /**
+     * Test of the cost of {@link myAdapter.ListAdapter#get(int)}
+     * <p>
+     * <br><br>Summary: a positional read doesn't allocate
+     * <br><br>Design test: get is called cycling over the indexes of a list of 1000 elements
+     * <br><br>Expected results: no allocation per operation (at most 0.01 bytes/op of noise), and within the time budget if one is configured
+     */
+    @Test
+    public void testGet() {
+        check("get", 0.01, new Scenario() {
+            public void run(HList list, int count) {
+                int size = list.size();
+                for (int i = 0; i < count; i++)
+                    list.get(i % size);
+            }
+        });
+    }
+
+    /**
+     * Test of the cost of the iteration
+     * <p>
+     * <br><br>Summary: the iteration only allocates the iterator
+     * <br><br>Design test: the list is traversed with hasNext and next until count elements have been read
+     * <br><br>Expected results: less than a byte per element, and within the time budget if one is configured
+     */
+    @Test
+    public void testIteration() {
+        check("iteration", 1, new Scenario() {
+            public void run(HList list, int count) {
+                while (count > 0) {
+                    HIterator it = list.iterator();
+                    while (it.hasNext() && count-- > 0)
+                        it.next();
+                }
+            }
+        });
+    }
+
+    /**
+     * Test of the cost of {@link myAdapter.ListAdapter#set(int, Object)}
+     * <p>
+     * <br><br>Summary: replacing an element doesn't allocate
+     * <br><br>Design test: every element is replaced by itself
+     * <br><br>Expected results: no allocation per operation (at most 0.01 bytes/op of noise), and within the time budget if one is configured
+     */
+    @Test
+    public void testSet() {
+        check("set", 0.01, new Scenario() {
+            public void run(HList list, int count) {
+                int size = list.size();
+                for (int i = 0; i < count; i++)
+                    list.set(i % size, values[i % size]);
+            }
+        });
+    }
+
+    /**
+     * Test of the cost of {@link myAdapter.ListAdapter#indexOf(Object)}
+     * <p>
+     * <br><br>Summary: a linear search doesn't allocate
+     * <br><br>Design test: the element in the middle of the list is searched
+     * <br><br>Expected results: no allocation per operation (at most 0.01 bytes/op of noise), and within the time budget if one is configured
+     */
+    @Test
+    public void testIndexOf() {
+        check("indexOf", 0.01, new Scenario() {
+            public void run(HList list, int count) {
+                Integer target = values[SIZE / 2];
+                for (int i = 0; i < count; i++)
+                    list.indexOf(target);
+            }
+        });
+    }
+
+    /**
+     * Test of the cost of {@link myAdapter.ListAdapter#add(Object)} and {@link myAdapter.ListAdapter#remove(int)}
+     * <p>
+     * <br><br>Summary: appending to a list with enough capacity and removing the last element don't allocate
+     * <br><br>Design test: an element is appended and removed, so the size and the capacity don't change
+     * <br><br>Expected results: no allocation per operation (at most 0.01 bytes/op of noise), and within the time budget if one is configured
+     */
+    @Test
+    public void testAddRemove() {
+        check("addRemove", 0.01, new Scenario() {
+            public void run(HList list, int count) {
+                Integer element = values[0];
+                for (int i = 0; i < count; i++) {
+                    list.add(element);
+                    list.remove(SIZE);
+                }
+            }
+        });
+    }
+
+    /**
+     * Measures the scenario on both the adaptees, prints the results and compares them with the budgets
+     *
+     * @param name     the name of the scenario, used by the budget properties
+     * @param bytes    the default budget of bytes per operation
+     * @param scenario the operations to measure
+     */
+    private static void check(String name, double bytes, Scenario scenario) {
+        double bytesBudget = budget(name, "bytes", bytes);
+        // without a configured budget the time is only printed
+        double nanosBudget = budget(name, "nanos", Double.POSITIVE_INFINITY);
+        Vector[] adaptees = {new Vector(), new ArrayVector()};
+        for (int a = 0; a < adaptees.length; a++) {
+            HList list = new ListAdapter(adaptees[a]);
+            for (int i = 0; i < SIZE; i++)
+                list.add(values[i]);
+            scenario.run(list, OPERATIONS);
+
+            long thread = Thread.currentThread().getId();
+            long allocated = threads.getThreadAllocatedBytes(thread);
+            long cpu = threads.getCurrentThreadCpuTime();
+            scenario.run(list, OPERATIONS);
+            cpu = threads.getCurrentThreadCpuTime() - cpu;
+            // the bytes allocated by the measure itself are subtracted
+            long overhead = threads.getThreadAllocatedBytes(thread);
+            allocated = overhead - allocated - (threads.getThreadAllocatedBytes(thread) - overhead);
+
+            double bytesPerOp = Math.max(0, allocated) / (double) OPERATIONS;
+            double nanosPerOp = cpu / (double) OPERATIONS;
+            String label = name + " on " + adaptees[a].getClass().getName();
+            System.out.println(label + ": " + bytesPerOp + " bytes/op, " + nanosPerOp + " ns/op");
+            assertTrue(label + " allocates " + bytesPerOp + " bytes/op, budget " + bytesBudget,
+                    bytesPerOp <= bytesBudget);
+            assertTrue(label + " takes " + nanosPerOp + " ns/op, budget " + nanosBudget,
+                    nanosPerOp <= nanosBudget);
+        }
+    }
+
+    private static double budget(String name, String unit, double defaultValue) {
+        String value = System.getProperty("budget." + name + "." + unit);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+}
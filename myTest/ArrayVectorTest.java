@@ -0,0 +1,192 @@
+package myTest;
+
+import myAdapter.ArrayVector;
+import myAdapter.Vector;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Enumeration;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class of {@link myAdapter.ArrayVector} methods
+ * <p>
+ * <p>
+ * Summary: this class tests that ArrayVector behaves exactly like {@link myAdapter.Vector}, the adaptee it replaces
+ * <br><br>
+ * Design test: every method runs the same operations on an ArrayVector and on a Vector and compares the results
+ * <br><br>
+ * Preconditions: {@link myAdapter.Vector} works correctly, since it only forwards to java.util.Vector
+ * <br><br>
+ * Postconditions: the two vectors contain the same elements in the same order after each operation
+ * <br><br>
+ * Execution variables:
+ * <br>Vector vector - the unsynchronized vector under test
+ * <br>Vector expected - the reference vector
+ * <br><br>
+ *
+ * @author Alessandro Marcassa
+ * @see myAdapter.ArrayVector
+ */
+public class ArrayVectorTest {
+    private Vector vector, expected;
+
+    /**
+     * Creates the two empty vectors before each test
+     */
+    @Before
+    public void setup() {
+        vector = new ArrayVector(2);
+        expected = new Vector(2);
+    }
+
+    /**
+     * Checks that the two vectors contain the same elements
+     */
+    private void assertSameElements() {
+        assertEquals(expected.size(), vector.size());
+        assertEquals(expected.toString(), vector.toString());
+        Object[] a = new Object[expected.size()];
+        Object[] b = new Object[vector.size()];
+        expected.copyInto(a);
+        vector.copyInto(b);
+        assertArrayEquals(a, b);
+    }
+
+    /**
+     * Test of addElement, insertElementAt, removeElementAt and setElementAt
+     * <p>
+     * <br><br>Summary: the positional modifications give the same content of Vector, also growing beyond the initial capacity
+     * <br><br>Design test: elements are appended, inserted at the head, in the middle and at the end, replaced and removed
+     * <br><br>Expected results: after every step the two vectors have the same elements
+     */
+    @Test
+    public void testModifications() {
+        for (int i = 0; i < 5; i++) {
+            vector.addElement(i);
+            expected.addElement(i);
+        }
+        vector.insertElementAt("head", 0);
+        expected.insertElementAt("head", 0);
+        vector.insertElementAt(null, 3);
+        expected.insertElementAt(null, 3);
+        vector.insertElementAt("tail", vector.size());
+        expected.insertElementAt("tail", expected.size());
+        assertSameElements();
+
+        vector.setElementAt("set", 1);
+        expected.setElementAt("set", 1);
+        vector.removeElementAt(0);
+        expected.removeElementAt(0);
+        vector.removeElementAt(vector.size() - 1);
+        expected.removeElementAt(expected.size() - 1);
+        assertTrue(vector.removeElement(null));
+        assertTrue(expected.removeElement(null));
+        assertFalse(vector.removeElement("missing"));
+        assertSameElements();
+
+        vector.setSize(8);
+        expected.setSize(8);
+        assertSameElements();
+        vector.setSize(2);
+        expected.setSize(2);
+        assertSameElements();
+
+        vector.removeAllElements();
+        assertTrue(vector.isEmpty());
+    }
+
+    /**
+     * Test of indexOf, lastIndexOf and contains
+     * <p>
+     * <br><br>Summary: the searches return the same positions of Vector, null included
+     * <br><br>Design test: searches of repeated, single, null and missing elements, also from a starting index
+     * <br><br>Expected results: the same index of Vector, -1 for missing elements
+     */
+    @Test
+    public void testSearch() {
+        Object[] data = {1, 2, null, 1, 3};
+        for (int i = 0; i < data.length; i++) {
+            vector.addElement(data[i]);
+            expected.addElement(data[i]);
+        }
+        assertEquals(expected.indexOf(1), vector.indexOf(1));
+        assertEquals(expected.indexOf(1, 1), vector.indexOf(1, 1));
+        assertEquals(expected.lastIndexOf(1), vector.lastIndexOf(1));
+        assertEquals(expected.lastIndexOf(1, 2), vector.lastIndexOf(1, 2));
+        assertEquals(expected.indexOf(null), vector.indexOf(null));
+        assertEquals(-1, vector.indexOf(7));
+        assertTrue(vector.contains(null));
+        assertFalse(vector.contains(7));
+        assertEquals(1, vector.firstElement());
+        assertEquals(3, vector.lastElement());
+    }
+
+    /**
+     * Test of the exceptions
+     * <p>
+     * <br><br>Summary: the invalid accesses throw the same exceptions of Vector
+     * <br><br>Design test: access beyond the size, insert beyond the size, first element of an empty vector, end of the enumeration
+     * <br><br>Expected results: ArrayIndexOutOfBoundsException and NoSuchElementException as in CLDC 1.1
+     */
+    @Test
+    public void testExceptions() {
+        try {
+            vector.elementAt(0);
+            fail();
+        } catch (ArrayIndexOutOfBoundsException e) {
+        }
+        try {
+            vector.insertElementAt("x", 1);
+            fail();
+        } catch (ArrayIndexOutOfBoundsException e) {
+        }
+        try {
+            vector.firstElement();
+            fail();
+        } catch (NoSuchElementException e) {
+        }
+        try {
+            new ArrayVector(-1);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+
+        vector.addElement("a");
+        Enumeration en = vector.elements();
+        assertEquals("a", en.nextElement());
+        assertFalse(en.hasMoreElements());
+        try {
+            en.nextElement();
+            fail();
+        } catch (NoSuchElementException e) {
+        }
+    }
+
+    /**
+     * Test of capacity, ensureCapacity and trimToSize
+     * <p>
+     * <br><br>Summary: the capacity follows the growth policy of Vector
+     * <br><br>Design test: doubling growth, fixed increment, explicit reservation and trim
+     * <br><br>Expected results: the same capacities of Vector
+     */
+    @Test
+    public void testCapacity() {
+        for (int i = 0; i < 3; i++) {
+            vector.addElement(i);
+            expected.addElement(i);
+        }
+        assertEquals(expected.capacity(), vector.capacity());
+        vector.ensureCapacity(20);
+        assertTrue(vector.capacity() >= 20);
+        vector.trimToSize();
+        assertEquals(3, vector.capacity());
+
+        Vector incremented = new ArrayVector(2, 5);
+        for (int i = 0; i < 3; i++)
+            incremented.addElement(i);
+        assertEquals(7, incremented.capacity());
+    }
+}
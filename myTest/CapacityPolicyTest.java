@@ -0,0 +1,171 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.Test;
+
+import java.util.ConcurrentModificationException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class of the capacity management of {@link myAdapter.ListAdapter}
+ * <p>
+ * <p>
+ * Summary: this class runs all the tests of {@link myTest.ListTest} on a ListAdapter that grows by a factor of 1.5
+ * and shrinks automatically, and tests the capacity of the Vector under every policy
+ * <br><br>
+ * Design test: the factory methods of ListTest are overridden to create ListAdapters with a growth factor and a
+ * shrink threshold; the additional tests follow the capacity while elements are added and removed
+ * <br><br>
+ * Preconditions: a new empty ListAdapter with growth factor 1.5 and shrink threshold 0.25 is instantiated before each test
+ * <br><br>
+ * Postconditions: the policies never change the content of the list
+ * <br><br>
+ *
+ * @author Alessandro Marcassa
+ * @see myAdapter.ListAdapter#setGrowthFactor(float)
+ * @see myAdapter.ListAdapter#setShrinkThreshold(float)
+ * @see myTest.ListTest
+ */
+public class CapacityPolicyTest extends ListTest {
+
+    protected HList newList() {
+        return withPolicy(new ListAdapter(4));
+    }
+
+    protected HList newList(HCollection coll) {
+        return withPolicy(new ListAdapter(coll));
+    }
+
+    private static ListAdapter withPolicy(ListAdapter list) {
+        list.setGrowthFactor(1.5f);
+        list.setShrinkThreshold(0.25f);
+        return list;
+    }
+
+    /**
+     * Test of the growth policies
+     * <p>
+     * <br><br>Summary: the capacity grows by doubling, by a fixed increment or by the growth factor
+     * <br><br>Design test: lists with initial capacity 10 receive 11 elements, then a block larger than the growth
+     * <br><br>Description: the capacity is read after the insertions
+     * <br><br>Preconditions: none
+     * <br><br>Postconditions: all the lists contain the inserted elements
+     * <br><br>Expected results: 20 by doubling, 13 with increment 3, 15 with factor 1.5; a block larger than
+     * the growth is allocated exactly; the illegal factors and thresholds are rejected
+     */
+    @Test
+    public void testGrowthPolicies() {
+        ListAdapter doubling = new ListAdapter(10);
+        ListAdapter increment = new ListAdapter(10, 3);
+        ListAdapter factor = new ListAdapter(10);
+        factor.setGrowthFactor(1.5f);
+        assertEquals(1.5f, factor.getGrowthFactor(), 0);
+        for (int i = 0; i < 11; i++) {
+            doubling.add(new Integer(i));
+            increment.add(new Integer(i));
+            factor.subList(0, i).add(new Integer(i));
+        }
+        assertEquals(20, doubling.capacity());
+        assertEquals(13, increment.capacity());
+        assertEquals(15, factor.capacity());
+        assertEquals(11, factor.size());
+
+        factor.addAll(new ListAdapter(factor));
+        assertEquals(22, factor.capacity());
+        factor.add(0, "head");
+        assertEquals(33, factor.capacity());
+
+        try {
+            factor.setGrowthFactor(1f);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            factor.setShrinkThreshold(0.5f);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        factor.setGrowthFactor(3f);
+        try {
+            factor.setShrinkThreshold(0.4f);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals(0f, factor.getShrinkThreshold(), 0);
+    }
+
+    /**
+     * Test of the automatic shrink
+     * <p>
+     * <br><br>Summary: the capacity is halved only when the occupancy falls under the threshold
+     * <br><br>Design test: a list with initial capacity 8 and threshold 0.25 is filled with 1000 elements and emptied
+     * from the tail, then refilled and emptied through a sublist and through the iterator
+     * <br><br>Description: the capacity is read at the boundaries of the threshold
+     * <br><br>Preconditions: the Vector grows by doubling
+     * <br><br>Postconditions: the list is empty and its capacity is back to the initial one
+     * <br><br>Expected results: 1024 until the size falls to 255, then 510; adding and removing one element around
+     * that size doesn't change it; the capacity never falls under 8
+     */
+    @Test
+    public void testShrinkWithHysteresis() {
+        ListAdapter list = new ListAdapter(8);
+        list.setShrinkThreshold(0.25f);
+        for (int i = 0; i < 1000; i++)
+            list.add(new Integer(i));
+        assertEquals(1024, list.capacity());
+        while (list.size() > 256)
+            list.remove(list.size() - 1);
+        assertEquals(1024, list.capacity());
+        list.remove(list.size() - 1);
+        assertEquals(510, list.capacity());
+        list.add("x");
+        list.remove(list.size() - 1);
+        assertEquals(510, list.capacity());
+
+        list.subList(10, 250).clear();
+        assertEquals(30, list.capacity());
+        assertEquals(15, list.size());
+        assertEquals(new Integer(250), list.get(10));
+
+        HIterator it = list.iterator();
+        while (it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+        assertTrue(list.isEmpty());
+        assertEquals(8, list.capacity());
+    }
+
+    /**
+     * Test of {@link myAdapter.ListAdapter#trimToSize()}
+     * <p>
+     * <br><br>Summary: the capacity is reduced to the size, and the open iterators are invalidated
+     * <br><br>Design test: a list of 5 elements with capacity 100 is trimmed while an iterator is open
+     * <br><br>Description: the capacity is read and the iterator is used after the trim
+     * <br><br>Preconditions: none
+     * <br><br>Postconditions: the list contains the same elements
+     * <br><br>Expected results: capacity 5, and a ConcurrentModificationException from the iterator
+     */
+    @Test
+    public void testTrimToSize() {
+        ListAdapter list = new ListAdapter(100);
+        for (int i = 0; i < 5; i++)
+            list.add(new Integer(i));
+        HListIterator it = list.listIterator();
+        it.next();
+        list.trimToSize();
+        assertEquals(5, list.capacity());
+        assertEquals(new Integer(4), list.get(4));
+        try {
+            it.set("x");
+            it.next();
+            fail();
+        } catch (ConcurrentModificationException e) {
+            // expected
+        }
+    }
+}
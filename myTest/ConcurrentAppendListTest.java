@@ -0,0 +1,161 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class of {@link myAdapter.ConcurrentAppendList} methods
+ * <p>
+ * <p>
+ * Summary: this class tests the appends to ConcurrentAppendList from one and from many threads, and that
+ * every other modification is rejected
+ * <br><br>
+ * Design test: elements are appended across the bounds of the segments and from concurrent threads, then
+ * they are read by index
+ * <br><br>
+ * Preconditions: a new empty ConcurrentAppendList is instantiated before each test
+ * <br><br>
+ * Postconditions: every appended element is present exactly once
+ * <br><br>
+ * Execution variables:
+ * <br>ConcurrentAppendList list - main empty list
+ * <br><br>
+ *
+ * @author Alessandro Marcassa
+ * @see myAdapter.ConcurrentAppendList
+ */
+public class ConcurrentAppendListTest {
+    private ConcurrentAppendList list;
+
+    /**
+     * Creates a new empty list before each test
+     */
+    @Before
+    public void setup() {
+        list = new ConcurrentAppendList();
+    }
+
+    /**
+     * Test of the appends from a single thread
+     * <p>
+     * <br><br>Summary: add, addAll and get work across the bounds of the segments, null included
+     * <br><br>Design test: 1000 elements are appended one at a time, then a collection of 100 elements
+     * <br><br>Expected results: every element is read back at its index, and the list equals a ListAdapter with the same elements
+     */
+    @Test
+    public void testAppend() {
+        HList expected = new ListAdapter();
+        for (int i = 0; i < 1000; i++) {
+            Object value = i % 100 == 0 ? null : new Integer(i);
+            assertTrue(list.add(value));
+            expected.add(value);
+        }
+        HList coll = new ListAdapter();
+        for (int i = 0; i < 100; i++)
+            coll.add("e" + i);
+        assertTrue(list.addAll(coll));
+        expected.addAll(coll);
+        assertFalse(list.addAll(new ListAdapter()));
+
+        assertEquals(1100, list.size());
+        for (int i = 0; i < expected.size(); i++)
+            assertEquals(expected.get(i), list.get(i));
+        assertArrayEquals(expected.toArray(), list.toArray());
+        assertEquals(0, list.indexOf(null));
+        assertEquals(900, list.lastIndexOf(null));
+        assertEquals(1099, list.indexOf("e99"));
+        assertTrue(list.equals(expected));
+        try {
+            list.get(1100);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Test of the rejected modifications
+     * <p>
+     * <br><br>Summary: all the modifications other than the append throw UnsupportedOperationException
+     * <br><br>Design test: each modification is called on a list with one element
+     * <br><br>Expected results: every call throws UnsupportedOperationException and the list doesn't change
+     */
+    @Test
+    public void testRejectedModifications() {
+        list.add("a");
+        HList coll = new ListAdapter();
+        coll.add("a");
+        int rejected = 0;
+        for (int op = 0; op < 10; op++) {
+            try {
+                switch (op) {
+                    case 0: list.add(0, "b"); break;
+                    case 1: list.set(0, "b"); break;
+                    case 2: list.remove(0); break;
+                    case 3: list.remove("a"); break;
+                    case 4: list.addAll(0, coll); break;
+                    case 5: list.removeAll(coll); break;
+                    case 6: list.retainAll(coll); break;
+                    case 7: list.clear(); break;
+                    case 8: list.subList(0, 1).clear(); break;
+                    default:
+                        HIterator it = list.iterator();
+                        it.next();
+                        it.remove();
+                }
+            } catch (UnsupportedOperationException e) {
+                rejected++;
+            }
+        }
+        assertEquals(10, rejected);
+        assertEquals(1, list.size());
+        assertEquals("a", list.get(0));
+    }
+
+    /**
+     * Test of the concurrent appends
+     * <p>
+     * <br><br>Summary: the appends from many threads are neither lost nor duplicated
+     * <br><br>Design test: 8 threads append 20000 distinct values each, while the main thread reads the published elements
+     * <br><br>Expected results: every element below the published size is never null, and at the end every value is present exactly once
+     */
+    @Test
+    public void testConcurrentAppends() throws InterruptedException {
+        final int threads = 8;
+        final int perThread = 20000;
+        Thread[] writers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int base = t * perThread;
+            writers[t] = new Thread() {
+                public void run() {
+                    for (int i = 0; i < perThread; i++)
+                        list.add(new Integer(base + i));
+                }
+            };
+            writers[t].start();
+        }
+        boolean alive = true;
+        while (alive) {
+            int size = list.size();
+            if (size > 0)
+                assertNotNull(list.get(size - 1));
+            alive = false;
+            for (int t = 0; t < threads; t++)
+                alive |= writers[t].isAlive();
+        }
+        for (int t = 0; t < threads; t++)
+            writers[t].join();
+
+        assertEquals(threads * perThread, list.size());
+        boolean[] seen = new boolean[threads * perThread];
+        HIterator it = list.iterator();
+        while (it.hasNext()) {
+            int value = ((Integer) it.next()).intValue();
+            assertFalse(seen[value]);
+            seen[value] = true;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class of {@link myAdapter.CopyOnWriteList} methods
+ * <p>
+ * <p>
+ * Summary: this class tests the modifications of CopyOnWriteList, the snapshot semantics of its iterators
+ * and the reads concurrent with the modifications
+ * <br><br>
+ * Design test: every modification is compared with the same modification on a ListAdapter; the iterators
+ * are used while the list is modified, and some threads read the list while another one modifies it
+ * <br><br>
+ * Preconditions: a new CopyOnWriteList containing the integers from 0 to 9 is instantiated before each test
+ * <br><br>
+ * Postconditions: the readers never see a partial modification
+ * <br><br>
+ * Execution variables:
+ * <br>CopyOnWriteList list - list with the integers from 0 to 9
+ * <br>boolean stop - flag that stops the reader threads
+ * <br><br>
+ *
+ * @author Alessandro Marcassa
+ * @see myAdapter.CopyOnWriteList
+ */
+public class CopyOnWriteListTest {
+    private CopyOnWriteList list;
+    private volatile boolean stop;
+
+    /**
+     * Creates the list with the integers from 0 to 9 before each test
+     */
+    @Before
+    public void setup() {
+        list = new CopyOnWriteList();
+        for (int i = 0; i < 10; i++)
+            list.add(new Integer(i));
+    }
+
+    /**
+     * Test of the modifications
+     * <p>
+     * <br><br>Summary: add, set, remove, addAll, removeAll, retainAll and clear give the same results of a ListAdapter
+     * <br><br>Design test: the same operations are executed on the two lists
+     * <br><br>Expected results: after every operation the two lists have the same content
+     */
+    @Test
+    public void testModifications() {
+        HList expected = new ListAdapter(list);
+        assertArrayEquals(expected.toArray(), list.toArray());
+
+        list.add(3, "x");
+        expected.add(3, "x");
+        assertEquals(expected.set(0, null), list.set(0, null));
+        assertEquals(expected.remove(5), list.remove(5));
+        assertTrue(list.remove("x"));
+        assertTrue(expected.remove("x"));
+        assertArrayEquals(expected.toArray(), list.toArray());
+
+        HList coll = new ListAdapter();
+        coll.add(new Integer(7));
+        coll.add(null);
+        assertTrue(list.addAll(2, coll));
+        assertTrue(expected.addAll(2, coll));
+        assertArrayEquals(expected.toArray(), list.toArray());
+        assertEquals(expected.lastIndexOf(new Integer(7)), list.lastIndexOf(new Integer(7)));
+
+        assertTrue(list.removeAll(coll));
+        assertTrue(expected.removeAll(coll));
+        assertArrayEquals(expected.toArray(), list.toArray());
+        assertFalse(list.removeAll(coll));
+
+        coll.clear();
+        coll.add(new Integer(2));
+        assertTrue(list.retainAll(coll));
+        assertEquals(1, list.size());
+        assertFalse(list.addIfAbsent(new Integer(2)));
+        assertTrue(list.addIfAbsent(new Integer(3)));
+        assertEquals(2, list.size());
+
+        list.clear();
+        assertTrue(list.isEmpty());
+        try {
+            list.get(0);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Test of the iterators
+     * <p>
+     * <br><br>Summary: an iterator keeps returning the elements present when it was created
+     * <br><br>Design test: the list is modified and cleared while it is being iterated
+     * <br><br>Expected results: the iterator returns all the original elements, and its modifying methods
+     * throw UnsupportedOperationException
+     */
+    @Test
+    public void testSnapshotIterator() {
+        HListIterator it = list.listIterator();
+        list.add(0, "first");
+        assertEquals(new Integer(0), it.next());
+        list.clear();
+        int count = 1;
+        while (it.hasNext()) {
+            assertEquals(new Integer(count), it.next());
+            count++;
+        }
+        assertEquals(10, count);
+        assertEquals(new Integer(9), it.previous());
+        assertEquals(9, it.nextIndex());
+
+        try {
+            it.remove();
+            fail();
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+        try {
+            it.set("x");
+            fail();
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+        try {
+            it.add("x");
+            fail();
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+        assertTrue(list.isEmpty());
+    }
+
+    /**
+     * Test of the reads concurrent with the modifications
+     * <p>
+     * <br><br>Summary: readers never see a partial modification
+     * <br><br>Design test: a writer repeatedly replaces the content of the list with ten copies of a new value
+     * with a single addAll after a clear, while four readers iterate the list
+     * <br><br>Expected results: every iteration returns either no elements or ten equal elements
+     */
+    @Test
+    public void testConcurrentReads() throws InterruptedException {
+        final HList batch = new ListAdapter();
+        final boolean[] failed = new boolean[1];
+        list.clear();
+
+        Thread[] readers = new Thread[4];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread() {
+                public void run() {
+                    while (!stop) {
+                        Object[] snapshot = list.toArray();
+                        HIterator it = list.iterator();
+                        int count = 0;
+                        Object first = it.hasNext() ? it.next() : null;
+                        if (first != null)
+                            count++;
+                        while (it.hasNext()) {
+                            count++;
+                            if (!first.equals(it.next()))
+                                failed[0] = true;
+                        }
+                        if ((count != 0 && count != 10) || (snapshot.length != 0 && snapshot.length != 10))
+                            failed[0] = true;
+                    }
+                }
+            };
+            readers[r].start();
+        }
+        for (int i = 0; i < 2000; i++) {
+            batch.clear();
+            for (int j = 0; j < 10; j++)
+                batch.add(new Integer(i));
+            list.clear();
+            list.addAll(batch);
+        }
+        stop = true;
+        for (int r = 0; r < readers.length; r++)
+            readers[r].join();
+        assertFalse(failed[0]);
+    }
+
+    /**
+     * Test of {@link myAdapter.CopyOnWriteList#addAll(HCollection)} concurrent with other modifications
+     * <p>
+     * <br><br>Summary: the appended collection is never lost, split or rejected because of a concurrent modification
+     * <br><br>Design test: four threads append batches of ten equal values, while another thread repeatedly
+     * appends and removes a marker element
+     * <br><br>Expected results: at the end the list contains all the batches, each one as ten consecutive elements,
+     * and no marker
+     */
+    @Test
+    public void testConcurrentAddAll() throws InterruptedException {
+        final int batches = 500;
+        final boolean[] failed = new boolean[1];
+        list.clear();
+        Thread[] writers = new Thread[4];
+        for (int w = 0; w < writers.length; w++) {
+            final int base = w * batches;
+            writers[w] = new Thread() {
+                public void run() {
+                    HList batch = new ListAdapter();
+                    try {
+                        for (int i = 0; i < batches; i++) {
+                            batch.clear();
+                            for (int j = 0; j < 10; j++)
+                                batch.add(new Integer(base + i));
+                            list.addAll(batch);
+                        }
+                    } catch (RuntimeException e) {
+                        failed[0] = true;
+                    }
+                }
+            };
+            writers[w].start();
+        }
+        for (int i = 0; i < 5000; i++) {
+            list.add("marker");
+            list.remove("marker");
+        }
+        for (int w = 0; w < writers.length; w++)
+            writers[w].join();
+        assertFalse(failed[0]);
+        assertEquals(writers.length * batches * 10, list.size());
+        boolean[] seen = new boolean[writers.length * batches];
+        for (int i = 0; i < list.size(); i += 10) {
+            Object first = list.get(i);
+            int value = ((Integer) first).intValue();
+            assertFalse(seen[value]);
+            seen[value] = true;
+            for (int j = 1; j < 10; j++)
+                assertEquals(first, list.get(i + j));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class of {@link myAdapter.GapList} methods
+ * <p>
+ * <p>
+ * Summary: this class runs all the tests of {@link myTest.ListTest} on a GapList and tests the edits around the gap
+ * <br><br>
+ * Design test: the factory methods of ListTest are overridden to create GapLists, the additional tests
+ * edit the list in positions that force the gap to move in both directions
+ * <br><br>
+ * Preconditions: a new empty GapList is instantiated before each test
+ * <br><br>
+ * Postconditions: the GapList behaves exactly like a ListAdapter with the same content
+ * <br><br>
+ *
+ * @author Alessandro Marcassa
+ * @see myAdapter.GapList
+ * @see myTest.ListTest
+ */
+public class GapListTest extends ListTest {
+
+    protected HList newList() {
+        return new GapList();
+    }
+
+    protected HList newList(HCollection coll) {
+        return new GapList(coll);
+    }
+
+    /**
+     * Test of the edits through the list iterator
+     * <p>
+     * <br><br>Summary: the insertions and removals done by the iterator follow its cursor
+     * <br><br>Design test: every even element is removed and a copy of every odd element is inserted after it
+     * <br><br>Expected results: the list contains every odd element twice, in order, and the iterator stays consistent
+     */
+    @Test
+    public void testCursorEdits() {
+        GapList list = new GapList(2);
+        for (int i = 0; i < 10; i++)
+            list.add(new Integer(i));
+        HListIterator it = list.listIterator();
+        while (it.hasNext()) {
+            Integer value = (Integer) it.next();
+            if (value.intValue() % 2 == 0)
+                it.remove();
+            else
+                it.add(value);
+        }
+        Object[] expected = {new Integer(1), new Integer(1), new Integer(3), new Integer(3), new Integer(5),
+                new Integer(5), new Integer(7), new Integer(7), new Integer(9), new Integer(9)};
+        assertArrayEquals(expected, list.toArray());
+
+        while (it.hasPrevious()) {
+            it.previous();
+            it.remove();
+            if (it.hasPrevious())
+                it.previous();
+        }
+        assertArrayEquals(new Object[]{new Integer(1), new Integer(3), new Integer(5), new Integer(7), new Integer(9)},
+                list.toArray());
+    }
+
+    /**
+     * Test of the positional access after the gap has moved
+     * <p>
+     * <br><br>Summary: get, set, indexOf and toArray see the elements on both sides of the gap
+     * <br><br>Design test: elements are inserted at the end, at the beginning and in the middle, then removed from the middle
+     * <br><br>Expected results: the content is the same of a ListAdapter on which the same operations are executed
+     */
+    @Test
+    public void testGapMovement() {
+        GapList list = new GapList(0);
+        HList expected = new ListAdapter();
+        for (int i = 0; i < 20; i++) {
+            Integer value = new Integer(i);
+            int index = i % 3 == 0 ? 0 : i % 3 == 1 ? list.size() : list.size() / 2;
+            list.add(index, value);
+            expected.add(index, value);
+        }
+        assertArrayEquals(expected.toArray(), list.toArray());
+
+        list.remove(10);
+        expected.remove(10);
+        list.subList(2, 5).clear();
+        expected.subList(2, 5).clear();
+        assertEquals(expected.size(), list.size());
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals(expected.get(i), list.get(i));
+            assertEquals(expected.indexOf(list.get(i)), list.indexOf(list.get(i)));
+        }
+
+        list.set(0, "first");
+        list.set(list.size() - 1, "last");
+        assertEquals("first", list.get(0));
+        assertEquals("last", list.get(list.size() - 1));
+        assertArrayEquals(list.toArray(), list.toArray(new Object[list.size()]));
+    }
+}
@@ -0,0 +1,329 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class of the indexed mode of {@link myAdapter.ListAdapter}
+ * <p>
+ * <p>
+ * Summary: this class runs all the tests of {@link myTest.ListTest} on a ListAdapter in indexed mode, and tests
+ * that the searches stay correct while the list is modified
+ * <br><br>
+ * Design test: the factory methods of ListTest are overridden to create indexed ListAdapters; the additional
+ * tests compare the searches on an indexed list with the ones on a list with the same content that isn't indexed
+ * <br><br>
+ * Preconditions: a new empty ListAdapter in indexed mode is instantiated before each test
+ * <br><br>
+ * Postconditions: the indexed mode never changes the results of the searches
+ * <br><br>
+ *
+ * @author Alessandro Marcassa
+ * @see myAdapter.ListAdapter#setIndexed(boolean)
+ * @see myTest.ListTest
+ */
+public class IndexedListTest extends ListTest {
+
+    protected HList newList() {
+        ListAdapter list = new ListAdapter();
+        list.setIndexed(true);
+        return list;
+    }
+
+    protected HList newList(HCollection coll) {
+        ListAdapter list = new ListAdapter(coll);
+        list.setIndexed(true);
+        return list;
+    }
+
+    /**
+     * Test of the searches after random modifications
+     * <p>
+     * <br><br>Summary: indexOf, lastIndexOf and contains give the same results with and without the index
+     * <br><br>Design test: values from a small range are appended, inserted, replaced and removed in random positions;
+     * after every modification every value of the range is searched in the list and in a sublist
+     * <br><br>Expected results: the indexed list and the plain one always return the same positions
+     */
+    @Test
+    public void testSearchesAfterModifications() {
+        Random random = new Random(7);
+        ListAdapter indexed = (ListAdapter) newList();
+        ListAdapter plain = new ListAdapter();
+        for (int step = 0; step < 500; step++) {
+            Integer value = new Integer(random.nextInt(20));
+            int op = random.nextInt(4);
+            if (op == 0 || plain.size() < 5) {
+                indexed.add(value);
+                plain.add(value);
+            } else if (op == 1) {
+                int index = random.nextInt(plain.size() + 1);
+                indexed.add(index, value);
+                plain.add(index, value);
+            } else if (op == 2) {
+                int index = random.nextInt(plain.size());
+                indexed.set(index, value);
+                plain.set(index, value);
+            } else {
+                int index = random.nextInt(plain.size());
+                indexed.remove(index);
+                plain.remove(index);
+            }
+            int from = plain.size() / 3;
+            int to = plain.size() - from;
+            HList indexedSub = indexed.subList(from, to);
+            HList plainSub = plain.subList(from, to);
+            for (int v = -1; v < 20; v++) {
+                Integer search = new Integer(v);
+                assertEquals(plain.indexOf(search), indexed.indexOf(search));
+                assertEquals(plain.lastIndexOf(search), indexed.lastIndexOf(search));
+                assertEquals(plain.contains(search), indexed.contains(search));
+                assertEquals(plainSub.indexOf(search), indexedSub.indexOf(search));
+                assertEquals(plainSub.lastIndexOf(search), indexedSub.lastIndexOf(search));
+            }
+        }
+        assertTrue(indexed.containsAll(plain));
+        assertTrue(indexed.isIndexed());
+        indexed.setIndexed(false);
+        assertFalse(indexed.isIndexed());
+        assertEquals(plain.indexOf(new Integer(3)), indexed.indexOf(new Integer(3)));
+    }
+
+    /**
+     * Test of the searches alternated with modifications of a large list
+     * <p>
+     * <br><br>Summary: the positions repaired after each modification are always the current ones
+     * <br><br>Design test: values from a small range are replaced, inserted and removed at random positions, at the
+     * end of the list, through the iterator, through a sublist and with removeAll; after every modification only a
+     * few values are searched, so the positions estimated by the previous modifications accumulate
+     * <br><br>Expected results: the indexed list and the plain one always return the same results
+     */
+    @Test
+    public void testAlternatingEditsAndLookups() {
+        Random random = new Random(11);
+        ListAdapter indexed = (ListAdapter) newList();
+        ListAdapter plain = new ListAdapter();
+        for (int i = 0; i < 1000; i++) {
+            Integer value = new Integer(random.nextInt(40));
+            indexed.add(value);
+            plain.add(value);
+        }
+        for (int step = 0; step < 3000; step++) {
+            Integer value = new Integer(random.nextInt(40));
+            int size = plain.size();
+            int index = random.nextInt(size);
+            switch (random.nextInt(8)) {
+                case 0:
+                    indexed.set(index, value);
+                    plain.set(index, value);
+                    break;
+                case 1:
+                    indexed.set(size - 1, value);
+                    plain.set(size - 1, value);
+                    break;
+                case 2:
+                    indexed.remove(size - 1);
+                    plain.remove(size - 1);
+                    break;
+                case 3:
+                    indexed.add(index, value);
+                    plain.add(index, value);
+                    break;
+                case 4:
+                    indexed.remove(index);
+                    plain.remove(index);
+                    break;
+                case 5:
+                    HListIterator indexedIt = indexed.listIterator(index);
+                    HListIterator plainIt = plain.listIterator(index);
+                    indexedIt.next();
+                    plainIt.next();
+                    indexedIt.set(value);
+                    plainIt.set(value);
+                    break;
+                case 6:
+                    int to = Math.min(size, index + 20);
+                    indexed.subList(index, to).add(value);
+                    plain.subList(index, to).add(value);
+                    if (random.nextInt(50) == 0) {
+                        HList removed = new ListAdapter();
+                        removed.add(value);
+                        indexed.removeAll(removed);
+                        plain.removeAll(removed);
+                    }
+                    break;
+                default:
+                    indexed.add(value);
+                    plain.add(value);
+            }
+            if (plain.size() < 500) {
+                indexed.add(value);
+                plain.add(value);
+            }
+            for (int i = 0; i < 3; i++) {
+                Integer search = new Integer(random.nextInt(42));
+                assertEquals(plain.indexOf(search), indexed.indexOf(search));
+                assertEquals(plain.lastIndexOf(search), indexed.lastIndexOf(search));
+                assertEquals(plain.contains(search), indexed.contains(search));
+            }
+            if (step % 100 == 0) {
+                assertTrue(indexed.containsAll(plain));
+                for (int v = 0; v < 40; v++) {
+                    Integer search = new Integer(v);
+                    assertEquals(plain.lastIndexOf(search), indexed.lastIndexOf(search));
+                    assertEquals(plain.indexOf(search), indexed.indexOf(search));
+                }
+            }
+        }
+    }
+
+    /**
+     * Test of the positions estimated by the modifications
+     * <p>
+     * <br><br>Summary: a position left estimated by a modification stays correct after the following removals
+     * <br><br>Design test: an element is inserted after the last occurrence of a, then the first occurrence of a is
+     * replaced, so both positions of a are estimated; then the replacing element is removed
+     * <br><br>Expected results: a is found in the positions it occupies after the removal
+     */
+    @Test
+    public void testEstimatedPositions() {
+        HList list = newList();
+        list.add("c");
+        list.add("a");
+        list.add(1, "a");
+        assertEquals(0, list.indexOf("c"));
+        list.add(2, "a");
+        list.set(1, "b");
+        list.remove(1);
+        assertEquals(1, list.indexOf("a"));
+        assertEquals(2, list.lastIndexOf("a"));
+        assertEquals(-1, list.indexOf("b"));
+    }
+
+    /**
+     * Test of the cost of the modifications at the end of an indexed list
+     * <p>
+     * <br><br>Summary: replacing or removing the last elements doesn't rebuild the index
+     * <br><br>Design test: the hash codes computed on the elements are counted while the last element is removed,
+     * replaced and appended, each modification followed by a search
+     * <br><br>Expected results: the searches return the current positions, and only a few hash codes are computed
+     * instead of one for every element of the list
+     */
+    @Test
+    public void testTailEditsRepairIndex() {
+        HList list = newList();
+        for (int i = 0; i < 10000; i++)
+            list.add(new Counted(i));
+        assertEquals(9999, list.indexOf(new Counted(9999)));
+        Counted.hashes = 0;
+        for (int i = 9999; i > 9000; i--) {
+            list.remove(i);
+            assertEquals(-1, list.indexOf(new Counted(i)));
+            list.set(i - 1, new Counted(-i));
+            assertEquals(i - 1, list.lastIndexOf(new Counted(-i)));
+            list.add(new Counted(i));
+            assertEquals(i, list.indexOf(new Counted(i)));
+            list.remove(i);
+        }
+        assertTrue(Counted.hashes < 20 * 1000);
+    }
+
+    /**
+     * Element that counts the calls to its hashCode
+     */
+    private static class Counted {
+        static int hashes;
+        private final int value;
+
+        Counted(int value) {
+            this.value = value;
+        }
+
+        public boolean equals(Object obj) {
+            return obj instanceof Counted && ((Counted) obj).value == value;
+        }
+
+        public int hashCode() {
+            hashes++;
+            return value;
+        }
+    }
+
+    /**
+     * Test of the searches of null and of the modifications through the iterator
+     * <p>
+     * <br><br>Summary: null is indexed like the other elements, and the iterator modifications invalidate the index
+     * <br><br>Design test: null elements are inserted, then replaced and removed through the iterator
+     * <br><br>Expected results: the positions of null and of the replacing elements are always the current ones
+     */
+    @Test
+    public void testIteratorModifications() {
+        HList list = newList();
+        list.add("a");
+        list.add(null);
+        list.add("b");
+        list.add(null);
+        assertEquals(1, list.indexOf(null));
+        assertEquals(3, list.lastIndexOf(null));
+
+        HListIterator it = list.listIterator();
+        it.next();
+        it.next();
+        it.set("c");
+        assertEquals(3, list.indexOf(null));
+        assertEquals(1, list.indexOf("c"));
+        it.next();
+        it.next();
+        it.remove();
+        assertEquals(-1, list.indexOf(null));
+        assertFalse(list.contains(null));
+        list.add(null);
+        assertEquals(3, list.indexOf(null));
+    }
+
+    /**
+     * Test of the searches with concurrent readers
+     * <p>
+     * <br><br>Summary: many threads can search an indexed list that is not being modified
+     * <br><br>Design test: in every round the index is invalidated by a set or extended by some appends, then
+     * eight threads search every value together, so they race to rebuild or extend the index
+     * <br><br>Expected results: every search returns the position of the first and of the last occurrence
+     */
+    @Test
+    public void testConcurrentReaders() throws InterruptedException {
+        final int distinct = 5000;
+        final HList shared = newList();
+        for (int i = 0; i < 4 * distinct; i++)
+            shared.add(new Integer(i % distinct));
+        final boolean[] failed = new boolean[1];
+        for (int round = 0; round < 20; round++) {
+            if (round % 2 == 0)
+                shared.set(0, new Integer(0));
+            else
+                for (int i = 0; i < distinct; i++)
+                    shared.add(new Integer(i));
+            final int copies = shared.size() / distinct;
+            Thread[] readers = new Thread[8];
+            for (int r = 0; r < readers.length; r++) {
+                final int first = r * distinct / readers.length;
+                readers[r] = new Thread() {
+                    public void run() {
+                        for (int i = 0; i < distinct; i++) {
+                            Integer value = new Integer((first + i) % distinct);
+                            if (shared.indexOf(value) != value.intValue()
+                                    || shared.lastIndexOf(value) != value.intValue() + (copies - 1) * distinct)
+                                failed[0] = true;
+                        }
+                    }
+                };
+                readers[r].start();
+            }
+            for (int r = 0; r < readers.length; r++)
+                readers[r].join();
+            assertFalse(failed[0]);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class of {@link myAdapter.IntListAdapter} methods
+ * <p>
+ * <p>
+ * Summary: this class tests the primitive methods of IntListAdapter and that the list keeps working through the HList interface
+ * <br><br>
+ * Design test: the same values are inserted with the primitive methods and with the Object methods, then the content is compared
+ * <br><br>
+ * Preconditions: a new empty IntListAdapter is instantiated before each test
+ * <br><br>
+ * Postconditions: the list contains exactly the values inserted, whatever family of methods was used
+ * <br><br>
+ * Execution variables:
+ * <br>IntListAdapter list - main empty list
+ * <br><br>
+ *
+ * @author Alessandro Marcassa
+ * @see myAdapter.IntListAdapter
+ * @see myAdapter.HIntListIterator
+ */
+public class IntListAdapterTest {
+    private IntListAdapter list;
+
+    /**
+     * Creates a new empty list before each test
+     */
+    @Before
+    public void setup() {
+        list = new IntListAdapter(2);
+    }
+
+    /**
+     * Test of the primitive methods
+     * <p>
+     * <br><br>Summary: addInt, getInt, setInt, removeIntAt, indexOfInt and lastIndexOfInt work without boxing
+     * <br><br>Design test: values are appended, inserted, replaced, searched and removed
+     * <br><br>Expected results: toIntArray returns the expected values after every step
+     */
+    @Test
+    public void testPrimitiveMethods() {
+        for (int i = 1; i <= 5; i++)
+            list.addInt(i);
+        list.addInt(0, 0);
+        list.addInt(3, 1);
+        assertArrayEquals(new int[]{0, 1, 2, 1, 3, 4, 5}, list.toIntArray());
+
+        assertEquals(2, list.getInt(2));
+        assertEquals(2, list.setInt(2, 9));
+        assertEquals(1, list.indexOfInt(1));
+        assertEquals(3, list.lastIndexOfInt(1));
+        assertEquals(-1, list.indexOfInt(7));
+        assertTrue(list.containsInt(9));
+
+        assertEquals(0, list.removeIntAt(0));
+        assertArrayEquals(new int[]{1, 9, 1, 3, 4, 5}, list.toIntArray());
+
+        try {
+            list.getInt(list.size());
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+        }
+    }
+
+    /**
+     * Test of the HList interface
+     * <p>
+     * <br><br>Summary: the Object methods accept and return Integer, the list is equal to another HList with the same elements
+     * <br><br>Design test: elements are inserted as Integer, searched and removed; ineligible elements are inserted
+     * <br><br>Expected results: same behaviour of an HList of Integer, ClassCastException and NullPointerException for ineligible elements
+     */
+    @Test
+    public void testObjectMethods() {
+        HList hlist = list;
+        hlist.add(1);
+        hlist.add(2);
+        hlist.add(0, 3);
+        assertEquals(3, hlist.get(0));
+        assertEquals(3, hlist.set(0, 4));
+        assertTrue(hlist.contains(2));
+        assertFalse(hlist.contains("2"));
+        assertEquals(-1, hlist.indexOf(null));
+        assertTrue(hlist.remove((Object) 2));
+        assertArrayEquals(new Object[]{4, 1}, hlist.toArray());
+        assertArrayEquals(new Integer[]{4, 1}, hlist.toArray(new Integer[0]));
+
+        HList other = new IntListAdapter();
+        other.add(0);
+        other.add(4);
+        other.add(1);
+        other = other.subList(1, 3);
+        assertEquals(hlist, other);
+        assertEquals(other.hashCode(), hlist.hashCode());
+        HList adapter = new ListAdapter(other);
+        assertEquals(adapter, hlist);
+        assertEquals(hlist, adapter);
+        assertEquals(adapter.hashCode(), hlist.hashCode());
+
+        try {
+            hlist.add("x");
+            fail();
+        } catch (ClassCastException e) {
+        }
+        try {
+            hlist.add(null);
+            fail();
+        } catch (NullPointerException e) {
+        }
+        assertEquals(2, hlist.size());
+    }
+
+    /**
+     * Test of the bulk operations
+     * <p>
+     * <br><br>Summary: addAll, removeAll and retainAll with both IntListAdapter and other collections as argument
+     * <br><br>Design test: a collection is inserted in the middle, then filtered
+     * <br><br>Expected results: the expected values in the expected order
+     */
+    @Test
+    public void testBulkOperations() {
+        for (int i = 1; i <= 4; i++)
+            list.addInt(i);
+        IntListAdapter ints = new IntListAdapter();
+        ints.addInt(7);
+        ints.addInt(8);
+        assertTrue(list.addAll(2, ints));
+        assertArrayEquals(new int[]{1, 2, 7, 8, 3, 4}, list.toIntArray());
+
+        HList filter = new IntListAdapter();
+        filter.add(7);
+        filter.add(3);
+        assertTrue(list.removeAll(filter));
+        assertArrayEquals(new int[]{1, 2, 8, 4}, list.toIntArray());
+        assertTrue(list.retainAll(ints));
+        assertArrayEquals(new int[]{8}, list.toIntArray());
+        assertFalse(list.retainAll(ints));
+    }
+
+    /**
+     * Test of the primitive list iterator
+     * <p>
+     * <br><br>Summary: nextInt, previousInt, setInt, addInt and remove modify the list at the cursor; the iterator fails fast
+     * <br><br>Design test: full traversal in both directions with modifications, then a modification behind the iterator
+     * <br><br>Expected results: the expected values and a ConcurrentModificationException
+     */
+    @Test
+    public void testIntListIterator() {
+        for (int i = 1; i <= 3; i++)
+            list.addInt(i);
+        HIntListIterator it = list.intListIterator();
+        assertEquals(1, it.nextInt());
+        it.setInt(10);
+        it.addInt(11);
+        assertEquals(2, it.nextInt());
+        it.remove();
+        assertEquals(3, it.next());
+        assertFalse(it.hasNext());
+        try {
+            it.nextInt();
+            fail();
+        } catch (NoSuchElementException e) {
+        }
+        assertEquals(3, it.previousInt());
+        assertArrayEquals(new int[]{10, 11, 3}, list.toIntArray());
+
+        assertTrue(list.listIterator() instanceof HIntListIterator);
+        list.addInt(4);
+        try {
+            it.nextInt();
+            fail();
+        } catch (ConcurrentModificationException e) {
+        }
+    }
+
+    /**
+     * Test of {@link myAdapter.IntListAdapter#subList(int, int)}
+     * <p>
+     * <br><br>Summary: the sublist is backed by the list
+     * <br><br>Design test: elements are added and cleared through the sublist
+     * <br><br>Expected results: the modifications appear in the list
+     */
+    @Test
+    public void testSubList() {
+        for (int i = 1; i <= 5; i++)
+            list.addInt(i);
+        HList sub = list.subList(1, 3);
+        sub.add(9);
+        assertArrayEquals(new int[]{1, 2, 3, 9, 4, 5}, list.toIntArray());
+        sub.clear();
+        assertArrayEquals(new int[]{1, 4, 5}, list.toIntArray());
+    }
+}
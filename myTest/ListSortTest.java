@@ -0,0 +1,250 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class of {@link myAdapter.ListSort} and {@link myAdapter.ParallelLists#sort(HList, HComparator)}
+ * <p>
+ * <p>
+ * Summary: this class tests that the sort orders any list, is stable and invalidates the open iterators
+ * <br><br>
+ * Design test: lists with random, sorted, reverse sorted and partially sorted content are sorted and compared
+ * with java.util.Arrays.sort, which is stable too; the elements are pairs whose order depends only on the key,
+ * so that the order of the equal elements can be verified
+ * <br><br>
+ * Preconditions: the comparator orders the pairs by key
+ * <br><br>
+ * Postconditions: the lists contain the same elements, sorted
+ * <br><br>
+ *
+ * @author Alessandro Marcassa
+ * @see myAdapter.ListSort
+ * @see myAdapter.ParallelLists
+ */
+public class ListSortTest {
+
+    /**
+     * Element with a key, used for the order, and a sequence number, that tells the equal elements apart
+     */
+    private static final class Pair {
+        final int key;
+        final int seq;
+
+        Pair(int key, int seq) {
+            this.key = key;
+            this.seq = seq;
+        }
+
+        public String toString() {
+            return key + "/" + seq;
+        }
+    }
+
+    private static final HComparator BY_KEY = new HComparator() {
+        public int compare(Object a, Object b) {
+            int x = ((Pair) a).key;
+            int y = ((Pair) b).key;
+            return x < y ? -1 : x == y ? 0 : 1;
+        }
+    };
+
+    private static final Comparator<Object> REFERENCE = new Comparator<Object>() {
+        public int compare(Object a, Object b) {
+            return BY_KEY.compare(a, b);
+        }
+    };
+
+    /**
+     * Builds size pairs with keys from 0 to range - 1, in the order given by shape:
+     * 0 random, 1 sorted, 2 reverse sorted, 3 sorted blocks of 100 elements
+     */
+    private static Object[] pairs(int size, int range, int shape, long seed) {
+        Random random = new Random(seed);
+        Object[] pairs = new Object[size];
+        for (int i = 0; i < size; i++) {
+            int key;
+            switch (shape) {
+                case 0:
+                    key = random.nextInt(range);
+                    break;
+                case 1:
+                    key = (int) ((long) i * range / size);
+                    break;
+                case 2:
+                    key = (int) ((long) (size - 1 - i) * range / size);
+                    break;
+                default:
+                    key = (i % 100) * range / 100 + random.nextInt(2);
+            }
+            pairs[i] = new Pair(key, i);
+        }
+        return pairs;
+    }
+
+    private static ListAdapter listOf(Object[] elements) {
+        ListAdapter list = new ListAdapter();
+        for (int i = 0; i < elements.length; i++)
+            list.add(elements[i]);
+        return list;
+    }
+
+    /**
+     * Test of {@link myAdapter.ListSort#sort(HList, HComparator)}
+     * <p>
+     * <br><br>Summary: the sort orders the list and keeps the order of the equal elements
+     * <br><br>Design test: lists of 0 to 5000 elements with every shape and few distinct keys are sorted
+     * <br><br>Description: the result is compared element by element with the one of java.util.Arrays.sort
+     * <br><br>Preconditions: none
+     * <br><br>Postconditions: the lists are sorted
+     * <br><br>Expected results: the same elements in the same order of Arrays.sort, so also the same order
+     * of the equal elements
+     */
+    @Test
+    public void testStableSort() {
+        int[] sizes = {0, 1, 2, 31, 32, 33, 100, 1000, 5000};
+        for (int s = 0; s < sizes.length; s++) {
+            for (int shape = 0; shape < 4; shape++) {
+                Object[] elements = pairs(sizes[s], 50, shape, s * 4 + shape);
+                ListAdapter list = listOf(elements);
+                Arrays.sort(elements, REFERENCE);
+                ListSort.sort(list, BY_KEY);
+                assertArrayEquals("size " + sizes[s] + ", shape " + shape, elements, list.toArray());
+            }
+        }
+    }
+
+    /**
+     * Test of the sort of the sublists and of the other lists
+     * <p>
+     * <br><br>Summary: only the elements of a sublist are sorted, and a list that isn't a ListAdapter is sorted
+     * through its iterator
+     * <br><br>Design test: the central part of a list and a GapList are sorted
+     * <br><br>Description: the lists are compared with the expected content
+     * <br><br>Preconditions: none
+     * <br><br>Postconditions: the elements outside the sublist are not moved
+     * <br><br>Expected results: the expected content, and a ConcurrentModificationException from an iterator open
+     * before the sort
+     */
+    @Test
+    public void testSortViews() {
+        ListAdapter list = new ListAdapter();
+        for (int i = 9; i >= 0; i--)
+            list.add(new Pair(i, 9 - i));
+        HIterator it = list.iterator();
+        it.next();
+        int hash = list.hashCode();
+        HList sub = list.subList(2, 8);
+        ListSort.sort(sub, BY_KEY);
+        int[] expected = {9, 8, 2, 3, 4, 5, 6, 7, 1, 0};
+        for (int i = 0; i < expected.length; i++)
+            assertEquals(expected[i], ((Pair) list.get(i)).key);
+        assertEquals(2, ((Pair) sub.get(0)).key);
+        assertTrue(hash != list.hashCode());
+        try {
+            it.next();
+            fail();
+        } catch (ConcurrentModificationException e) {
+            // expected
+        }
+
+        GapList gap = new GapList();
+        Object[] elements = pairs(500, 20, 0, 7);
+        for (int i = 0; i < elements.length; i++)
+            gap.add(elements[i]);
+        ListSort.sort(gap, BY_KEY);
+        Arrays.sort(elements, REFERENCE);
+        assertArrayEquals(elements, gap.toArray());
+
+        try {
+            ListSort.sort(gap, null);
+            fail();
+        } catch (NullPointerException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Test of a sort that fails
+     * <p>
+     * <br><br>Summary: when the comparator throws, the hash and the index of the list describe its current order
+     * <br><br>Design test: an indexed list of pairs ending with a string, which the comparator can't compare, is
+     * sorted sequentially and in parallel after its hash and its index have been computed
+     * <br><br>Description: after each ClassCastException the hash is compared with the one of the content, and
+     * every element is searched
+     * <br><br>Preconditions: the comparator casts the elements to Pair
+     * <br><br>Postconditions: the list is partly sorted
+     * <br><br>Expected results: the hash of the current content, and every element found in its current position
+     */
+    @Test
+    public void testFailedSort() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int parallel = 0; parallel < 2; parallel++) {
+                ListAdapter list = listOf(pairs(20000, 1000, 0, parallel));
+                list.add("not a pair");
+                list.setIndexed(true);
+                list.hashCode();
+                assertEquals(0, list.indexOf(list.get(0)));
+                try {
+                    if (parallel == 0)
+                        ListSort.sort(list, BY_KEY);
+                    else
+                        ParallelLists.sort(list, BY_KEY, pool);
+                    fail();
+                } catch (ClassCastException e) {
+                    // expected
+                }
+                Object[] elements = list.toArray();
+                int hash = 1;
+                for (int i = 0; i < elements.length; i++)
+                    hash = 31 * hash + elements[i].hashCode();
+                assertEquals(hash, list.hashCode());
+                for (int i = 0; i < elements.length; i++)
+                    assertEquals(i, list.indexOf(elements[i]));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Test of {@link myAdapter.ParallelLists#sort(HList, HComparator, ForkJoinPool)}
+     * <p>
+     * <br><br>Summary: the parallel sort gives the same result of the sequential one
+     * <br><br>Design test: lists of 100000 elements, large enough to be split in many tasks, are sorted on a pool
+     * of 4 threads
+     * <br><br>Description: the result is compared with the one of java.util.Arrays.sort
+     * <br><br>Preconditions: none
+     * <br><br>Postconditions: the lists are sorted
+     * <br><br>Expected results: the same elements in the same order of Arrays.sort
+     */
+    @Test
+    public void testParallelSort() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int shape = 0; shape < 4; shape++) {
+                Object[] elements = pairs(100000, 1000, shape, shape);
+                ListAdapter list = listOf(elements);
+                Arrays.sort(elements, REFERENCE);
+                ParallelLists.sort(list, BY_KEY, pool);
+                assertArrayEquals("shape " + shape, elements, list.toArray());
+            }
+            Object[] elements = pairs(50000, 1000, 0, 11);
+            CopyOnWriteList copy = new CopyOnWriteList(listOf(elements));
+            ParallelLists.sort(copy, BY_KEY, pool);
+            Arrays.sort(elements, REFERENCE);
+            assertArrayEquals(elements, copy.toArray());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
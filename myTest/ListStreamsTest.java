@@ -0,0 +1,131 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class of {@link myAdapter.ListStreams} methods
+ * <p>
+ * <p>
+ * Summary: this class tests the spliterators and the streams over ListAdapter, its sublists and the other lists
+ * <br><br>
+ * Design test: the results of sequential and parallel pipelines are compared with the content of the lists,
+ * the spliterators are split and traversed by hand, and the lists are modified during the traversals
+ * <br><br>
+ * Preconditions: a ListAdapter with the integers from 0 to 9999 is instantiated before each test
+ * <br><br>
+ * Postconditions: the streams return all the elements in the order of the list
+ * <br><br>
+ * Execution variables:
+ * <br>ListAdapter list - list with the integers from 0 to 9999
+ * <br><br>
+ *
+ * @author Alessandro Marcassa
+ * @see myAdapter.ListStreams
+ */
+public class ListStreamsTest {
+    private static final int SIZE = 10000;
+    private ListAdapter list;
+
+    /**
+     * Creates the list before each test
+     */
+    @Before
+    public void setup() {
+        list = new ListAdapter();
+        for (int i = 0; i < SIZE; i++)
+            list.add(new Integer(i));
+    }
+
+    /**
+     * Test of the streams
+     * <p>
+     * <br><br>Summary: sequential and parallel streams return all the elements, in order
+     * <br><br>Design test: the elements are summed and collected from a ListAdapter, one of its sublists and a GapList
+     * <br><br>Expected results: the sums and the collected elements are the expected ones
+     */
+    @Test
+    public void testStreams() {
+        long expected = (long) SIZE * (SIZE - 1) / 2;
+        assertEquals(expected, ListStreams.stream(list).mapToLong(e -> ((Integer) e).intValue()).sum());
+        assertEquals(expected, ListStreams.parallelStream(list).mapToLong(e -> ((Integer) e).intValue()).sum());
+        assertArrayEquals(list.toArray(), ListStreams.parallelStream(list).collect(Collectors.toList()).toArray());
+
+        HList sub = list.subList(100, 200);
+        assertArrayEquals(sub.toArray(), ListStreams.parallelStream(sub).toArray());
+        assertEquals(100, ListStreams.stream(sub).count());
+
+        HList gap = new GapList(list);
+        assertArrayEquals(list.toArray(), ListStreams.parallelStream(gap).toArray());
+        assertEquals(0, ListStreams.stream(new ListAdapter()).count());
+    }
+
+    /**
+     * Test of the spliterator
+     * <p>
+     * <br><br>Summary: the spliterator splits by ranges of indexes and reports the exact sizes
+     * <br><br>Design test: a spliterator over a sublist is split, then its halves are traversed with tryAdvance and forEachRemaining
+     * <br><br>Expected results: the sizes of the halves sum to the size of the sublist, and they return consecutive elements
+     */
+    @Test
+    public void testSpliterator() {
+        HList sub = list.subList(10, 21);
+        Spliterator<Object> right = ListStreams.spliterator(sub);
+        assertTrue(right.hasCharacteristics(Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED));
+        assertEquals(11, right.estimateSize());
+        Spliterator<Object> left = right.trySplit();
+        assertEquals(5, left.estimateSize());
+        assertEquals(6, right.estimateSize());
+
+        final int[] next = {10};
+        while (left.tryAdvance(e -> assertEquals(new Integer(next[0]++), e)))
+            ;
+        right.forEachRemaining(e -> assertEquals(new Integer(next[0]++), e));
+        assertEquals(21, next[0]);
+        assertFalse(right.tryAdvance(e -> fail()));
+        assertNull(right.trySplit());
+    }
+
+    /**
+     * Test of the fail-fast behaviour
+     * <p>
+     * <br><br>Summary: the modifications before the first traversal are seen, the ones during the traversal are detected
+     * <br><br>Design test: the list is modified after the creation of the spliterator, then during a traversal
+     * <br><br>Expected results: the first traversal sees the new element, the second one throws ConcurrentModificationException
+     */
+    @Test
+    public void testFailFast() {
+        Spliterator<Object> late = ListStreams.spliterator(list);
+        list.add("last");
+        assertEquals(SIZE + 1, late.estimateSize());
+
+        try {
+            ListStreams.stream(list).forEach(e -> {
+                if ("last".equals(e))
+                    list.add("more");
+            });
+            fail();
+        } catch (ConcurrentModificationException e) {
+            // expected
+        }
+        HList gap = new GapList(list);
+        Spliterator<Object> spliterator = ListStreams.spliterator(gap);
+        spliterator.tryAdvance(e -> {
+        });
+        gap.remove(0);
+        try {
+            spliterator.tryAdvance(e -> {
+            });
+            fail();
+        } catch (ConcurrentModificationException e) {
+            // expected
+        }
+    }
+}
@@ -4,7 +4,7 @@ import myAdapter.*;
 import org.junit.Before;
 import org.junit.Test;
 
-//import java.util.NoSuchElementException;
+import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
 
 import static org.junit.Assert.*;
@@ -53,6 +53,27 @@ public class ListTest {
     HCollection coll;
     private HList list, listWithData;
 
+    /**
+     * Creates a new empty list of the implementation under test. The test classes of the other
+     * implementations of {@link myAdapter.HList} extend this class and override the two factory
+     * methods, so that the whole suite runs on each implementation
+     *
+     * @return a new empty ListAdapter
+     */
+    protected HList newList() {
+        return new ListAdapter();
+    }
+
+    /**
+     * Creates a new list of the implementation under test containing the elements of coll
+     *
+     * @param coll the collection whose elements are placed into the new list
+     * @return a new ListAdapter with the elements of coll
+     */
+    protected HList newList(HCollection coll) {
+        return new ListAdapter(coll);
+    }
+
     /**
      * Method for initializing execution variables before tests
      * <p>
@@ -64,9 +85,9 @@ public class ListTest {
      */
     @Before
     public void setup() {
-        coll = new ListAdapter();
-        list = new ListAdapter();
-        listWithData = new ListAdapter();
+        coll = newList();
+        list = newList();
+        listWithData = newList();
 
         for (int i = 0; i < 5; i++)
             listWithData.add(i + 1);
@@ -96,7 +117,7 @@ public class ListTest {
         coll.add(3);
         coll.add(4);
 
-        HCollection newCollection = new ListAdapter(coll);
+        HCollection newCollection = newList(coll);
 
         assertArrayEquals(coll.toArray(), newCollection.toArray());
     }
@@ -273,7 +294,7 @@ public class ListTest {
 
         assertArrayEquals(new Object[]{1, 2, 3, 4}, coll.toArray());
 
-        coll = new ListAdapter();
+        coll = newList();
         assertArrayEquals(new Object[0], coll.toArray());
     }
 
@@ -313,6 +334,40 @@ public class ListTest {
         assertArrayEquals(new Object[]{5, 6, 7, 8}, coll.toArray(array1));
     }
 
+    /**
+     * Test of {@link myAdapter.ListAdapter#toArray(Object[])}
+     * <p>
+     * <br><br>Summary: the runtime type of the array passed as parameter is kept, and the array is reused when it is large enough
+     * <br><br>Design test: arrays of type Integer[] of different lengths are passed to the list and to one of its sublists
+     * <br><br>Description: it is verified that a large enough array is returned itself, while a short one is replaced by a new array
+     * of the same type; an element of another type can't be stored in an Integer[]
+     * <br><br>Preconditions: the list must contain only Integer elements, except in the last step
+     * <br><br>Postconditions: the list is not modified
+     * <br><br>Expected results: the returned arrays are of type Integer[] and contain the elements of the list in order,
+     * then an ArrayStoreException is thrown
+     */
+    @Test
+    public void testToArrayRuntimeType() {
+        HList list = newList();
+        for (int i = 0; i < 6; i++)
+            list.add(i);
+        Integer[] big = new Integer[8];
+        assertSame(big, list.toArray(big));
+        assertArrayEquals(new Integer[]{0, 1, 2, 3, 4, 5, null, null}, big);
+
+        Object[] result = list.subList(1, 4).toArray(new Integer[0]);
+        assertEquals(Integer[].class, result.getClass());
+        assertArrayEquals(new Integer[]{1, 2, 3}, result);
+
+        list.add("x");
+        try {
+            list.toArray(new Integer[7]);
+            fail();
+        } catch (ArrayStoreException e) {
+            // expected
+        }
+    }
+
     /**
      * Test of {@link myAdapter.ListAdapter#add(Object)}
      * <p>
@@ -389,7 +444,7 @@ public class ListTest {
         coll.add(4);
         coll.add(null);
 
-        HCollection testColl = new ListAdapter(coll);
+        HCollection testColl = newList(coll);
 
         assertTrue(coll.containsAll(testColl));
 
@@ -424,7 +479,7 @@ public class ListTest {
             assertEquals(NullPointerException.class, e.getClass());
         }
 
-        testColl = new ListAdapter();
+        testColl = newList();
         testColl.add(1);
         testColl.add(2);
         testColl.add(3);
@@ -454,7 +509,7 @@ public class ListTest {
      */
     @Test
     public void testRemoveAll() {
-        HCollection testColl = new ListAdapter();
+        HCollection testColl = newList();
 
         try {
             coll.removeAll(null);
@@ -498,7 +553,7 @@ public class ListTest {
      */
     @Test
     public void testRetainAll() {
-        HCollection testColl = new ListAdapter();
+        HCollection testColl = newList();
 
         assertFalse(coll.retainAll(testColl));
 
@@ -551,7 +606,7 @@ public class ListTest {
             assertEquals(NullPointerException.class, e.getClass());
         }
 
-        coll = new ListAdapter();
+        coll = newList();
         try {
             list.addAll(list.size() + 1, coll);
             throw new Exception();
@@ -590,7 +645,7 @@ public class ListTest {
      */
     @Test
     public void testEquals() {
-        HList list2 = new ListAdapter();
+        HList list2 = newList();
         list.add(1);
         list.add(2);
         list.add(3);
@@ -620,6 +675,109 @@ public class ListTest {
         assertNotEquals(list, new Object[]{1, 2, 3});
     }
 
+    /**
+     * Test of {@link myAdapter.ListAdapter#equals(Object)} against other implementations
+     * <p>
+     * <br><br>Summary: the list is equal to any HList with the same elements in the same order
+     * <br><br>Design test: the list is compared with a ListAdapter, a GapList, a TieredList and a sublist with the same
+     * elements, then with lists that differ only in the last element, before and after computing their hash codes
+     * <br><br>Description: the comparison is done in both directions
+     * <br><br>Preconditions: the list contains the integers from 0 to 99
+     * <br><br>Postconditions: the lists are not modified by the comparison
+     * <br><br>Expected results: the lists with the same content are equal, the others aren't
+     */
+    @Test
+    public void testEqualsAcrossImplementations() {
+        HList same = new ListAdapter();
+        for (int i = 0; i < 100; i++) {
+            list.add(new Integer(i));
+            same.add(new Integer(i));
+        }
+        HList[] equal = {same, new GapList(same), new TieredList(same), newList(same), listWithSubList(same)};
+        for (int i = 0; i < equal.length; i++) {
+            assertTrue(list.equals(equal[i]));
+            assertTrue(equal[i].equals(list));
+        }
+
+        HList different = new ListAdapter(same);
+        different.set(99, "last");
+        HList[] notEqual = {different, new GapList(different), newList(different), listWithSubList(different)};
+        for (int i = 0; i < notEqual.length; i++) {
+            assertFalse(list.equals(notEqual[i]));
+            assertFalse(notEqual[i].equals(list));
+            notEqual[i].hashCode();
+            list.hashCode();
+            assertFalse(list.equals(notEqual[i]));
+        }
+        assertFalse(list.equals(same.subList(0, 99)));
+        assertFalse(list.equals("list"));
+        assertEquals(100, list.size());
+    }
+
+    /**
+     * Returns a sublist with the same elements of l, obtained from a larger list
+     */
+    private HList listWithSubList(HList l) {
+        HList larger = newList();
+        larger.add("before");
+        larger.addAll(l);
+        larger.add("after");
+        return larger.subList(1, l.size() + 1);
+    }
+
+    /**
+     * Test of {@link myAdapter.ListAdapter#batchListIterator()}
+     * <p>
+     * <br><br>Summary: nextBatch returns the next elements in blocks and can be mixed with the other methods of the iterator
+     * <br><br>Design test: a list of 10 elements is traversed in blocks of 4 elements, a sublist with a larger buffer;
+     * then the last element of a block is removed and the list is modified during the traversal
+     * <br><br>Description: the elements received are compared with the content of the list
+     * <br><br>Preconditions: the buffer must have enough space after the offset
+     * <br><br>Postconditions: the cursor is after the last element copied
+     * <br><br>Expected results: the blocks contain the elements in order, the last block is partial, then 0 is returned;
+     * a modification of the list causes a ConcurrentModificationException
+     */
+    @Test
+    public void testBatchIterator() {
+        ListAdapter adapter = new ListAdapter();
+        for (int i = 0; i < 10; i++)
+            adapter.add(new Integer(i));
+        HBatchListIterator it = adapter.batchListIterator();
+        Object[] buffer = new Object[5];
+        assertEquals(4, it.nextBatch(buffer, 1, 4));
+        assertArrayEquals(new Object[]{null, 0, 1, 2, 3}, buffer);
+        assertEquals(4, it.nextIndex());
+        assertEquals(4, it.next());
+        assertEquals(4, it.nextBatch(buffer, 0, 4));
+        assertEquals(8, buffer[3]);
+        it.remove();
+        assertEquals(1, it.nextBatch(buffer, 0, 5));
+        assertEquals(9, buffer[0]);
+        assertEquals(0, it.nextBatch(buffer, 0, 5));
+        assertFalse(it.hasNext());
+        assertEquals(9, adapter.size());
+
+        HBatchListIterator subIt = ((ListAdapter) adapter.subList(2, 6)).batchListIterator(1);
+        assertEquals(3, subIt.nextBatch(buffer, 0, 5));
+        assertArrayEquals(new Object[]{3, 4, 5}, new Object[]{buffer[0], buffer[1], buffer[2]});
+
+        try {
+            it.nextBatch(buffer, 3, 3);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+        HBatchListIterator failing = adapter.batchListIterator();
+        failing.nextBatch(buffer, 0, 2);
+        adapter.add("x");
+        try {
+            failing.nextBatch(buffer, 0, 2);
+            fail();
+        } catch (ConcurrentModificationException e) {
+            // expected
+        }
+    }
+
     /**
      * Test of {@link myAdapter.ListAdapter#hashCode()}
      * <p>
@@ -636,7 +794,7 @@ public class ListTest {
         list.add(2);
         list.add(3);
 
-        HList list2 = new ListAdapter();
+        HList list2 = newList();
         list2.add(1);
         list2.add(2);
         list2.add(3);
@@ -652,13 +810,107 @@ public class ListTest {
         list2.clear();
         assertNotEquals(list2.hashCode(), list.hashCode());
 
-        HCollection coll = new ListAdapter();
+        HCollection coll = newList();
         coll.add(1);
         coll.add(2);
         coll.add(3);
         assertEquals(coll.hashCode(), list.hashCode());
     }
 
+    /**
+     * Test of {@link myAdapter.ListAdapter#hashCode()} after modifications
+     * <p>
+     * <br><br>Summary: the hash is still the one defined in HList after the list has been modified between two calls
+     * <br><br>Design test: the hash is computed, then the list is modified with appends, set, insertions, removals, iterator
+     * modifications and modifications through a sublist, computing the hash again after each one
+     * <br><br>Description: the expected hash is computed every time from the content returned by toArray
+     * <br><br>Preconditions: the hash calculation must be the one described in HList
+     * <br><br>Postconditions: the hash of the list is always the one of its current content
+     * <br><br>Expected results: after every modification the hash matches the expected one, and repeated calls return the same value
+     */
+    @Test
+    public void testHashCodeAfterModifications() {
+        for (int i = 0; i < 10; i++)
+            list.add(new Integer(i));
+        assertEquals(expectedHash(list), list.hashCode());
+        assertEquals(list.hashCode(), list.hashCode());
+
+        list.add(null);
+        list.add("tail");
+        assertEquals(expectedHash(list), list.hashCode());
+        list.set(3, "x");
+        assertEquals(expectedHash(list), list.hashCode());
+        list.add(0, "head");
+        assertEquals(expectedHash(list), list.hashCode());
+        list.remove(5);
+        assertEquals(expectedHash(list), list.hashCode());
+
+        HListIterator it = list.listIterator();
+        it.next();
+        it.set("first");
+        assertEquals(expectedHash(list), list.hashCode());
+
+        HList sub = list.subList(2, 6);
+        assertEquals(expectedHash(sub), sub.hashCode());
+        sub.remove(0);
+        sub.add("sub");
+        assertEquals(expectedHash(sub), sub.hashCode());
+        assertEquals(expectedHash(list), list.hashCode());
+
+        list.clear();
+        assertEquals(1, list.hashCode());
+        list.add("a");
+        assertEquals(expectedHash(list), list.hashCode());
+    }
+
+    /**
+     * Computes the hash defined in HList from the content of the list
+     */
+    private static int expectedHash(HList l) {
+        Object[] elements = l.toArray();
+        int hash = 1;
+        for (int i = 0; i < elements.length; i++)
+            hash = 31 * hash + (elements[i] == null ? 0 : elements[i].hashCode());
+        return hash;
+    }
+
+    /**
+     * Test of {@link myAdapter.ListAdapter#hashCode()} with concurrent readers
+     * <p>
+     * <br><br>Summary: many threads can compute the hash of a list that is not being modified
+     * <br><br>Design test: in every round an element is set, invalidating the cached hash, then four threads
+     * compute the hash together
+     * <br><br>Description: the expected hash is computed from the content returned by toArray before the readers start
+     * <br><br>Preconditions: the list is not modified while the readers run
+     * <br><br>Postconditions: the list is not modified
+     * <br><br>Expected results: every reader returns the expected hash, and so does a following call
+     */
+    @Test
+    public void testHashCodeConcurrentReaders() throws InterruptedException {
+        for (int i = 0; i < 50000; i++)
+            list.add(new Integer(i));
+        final int[] hashes = new int[4];
+        for (int round = 0; round < 20; round++) {
+            list.set(round, "round" + round);
+            int expected = expectedHash(list);
+            Thread[] readers = new Thread[hashes.length];
+            for (int r = 0; r < readers.length; r++) {
+                final int reader = r;
+                readers[r] = new Thread() {
+                    public void run() {
+                        hashes[reader] = list.hashCode();
+                    }
+                };
+                readers[r].start();
+            }
+            for (int r = 0; r < readers.length; r++) {
+                readers[r].join();
+                assertEquals(expected, hashes[r]);
+            }
+            assertEquals(expected, list.hashCode());
+        }
+    }
+
     /**
      * Test of {@link myAdapter.ListAdapter#get(int)}
      * <p>
@@ -702,7 +954,7 @@ public class ListTest {
     @Test
     public void testSet() {
 
-        HList list2 = new ListAdapter();
+        HList list2 = newList();
         list.add(0);
         list.add(0);
         list.add(0);
@@ -799,7 +1051,7 @@ public class ListTest {
             assertEquals(IndexOutOfBoundsException.class, e.getClass());
         }
 
-        HList list2 = new ListAdapter();
+        HList list2 = newList();
         list2.add(1);
         list2.add(3);
         list2.add(5);
@@ -926,6 +1178,79 @@ public class ListTest {
 
     }
 
+    /**
+     * Test of the fail-fast behaviour of {@link myAdapter.ListAdapter.ListIteratorAdapter}
+     * <p>
+     * <br><br>Summary: an iteration in progress detects the structural modifications of the list made without passing through the iterator
+     * <br><br>Design test: the iteration is started, the list is modified directly, the iteration goes on. Then a new iteration modifies the list only through the iterator
+     * <br><br>Description: after the first call of next () an element is added to the list, the following call of next () must throw the exception. The modifications made with add, remove and set of the iterator itself must not invalidate it
+     * <br><br>Preconditions: the add (Object) and toArray () methods must be correctly implemented
+     * <br><br>Postconditions: the list contains the elements inserted through the iterator
+     * <br><br>Expected results: ConcurrentModificationException in the first case, no exception in the second one
+     */
+    @Test
+    public void testIteratorFailFast() {
+        HIterator iterator = listWithData.iterator();
+        iterator.next();
+        listWithData.add(6);
+        try {
+            iterator.next();
+            throw new Exception();
+        } catch (Exception e) {
+            assertEquals(java.util.ConcurrentModificationException.class, e.getClass());
+        }
+
+        HListIterator listIterator = listWithData.listIterator();
+        while (listIterator.hasNext()) {
+            Object e = listIterator.next();
+            if (((Integer) e) % 2 == 0)
+                listIterator.remove();
+            else {
+                listIterator.set((Integer) e * 10);
+                listIterator.add(0);
+            }
+        }
+        assertArrayEquals(new Object[]{10, 0, 30, 0, 50, 0}, listWithData.toArray());
+    }
+
+    /**
+     * Test of the nested views returned by {@link myAdapter.ListAdapter#subList(int, int)}
+     * <p>
+     * <br><br>Summary: a sublist of a sublist reads and writes the elements of the main list, and every modification keeps all the enclosing views consistent
+     * <br><br>Design test: a view of a view is created, then elements are set, added and removed through the innermost view. Finally the main list is modified directly and the view is used again
+     * <br><br>Description: after each modification through the innermost view, the arrays returned by toArray () of the main list, of the outer view and of the inner view are compared with arrays created manually. A structural modification of the main list made without passing through the views invalidates them
+     * <br><br>Preconditions: the toArray (), set (int, Object), add (int, Object) and remove (int) methods must be correctly implemented
+     * <br><br>Postconditions: the views share the elements of the main list
+     * <br><br>Expected results: the expected arrays at every level, ConcurrentModificationException when an invalidated view is used
+     */
+    @Test
+    public void testNestedSubList() {
+        HList outer = listWithData.subList(1, 5);
+        HList inner = outer.subList(1, 3);
+        assertArrayEquals(new Object[]{3, 4}, inner.toArray());
+        assertEquals(4, inner.get(1));
+
+        inner.set(0, 30);
+        inner.add(1, 35);
+        assertArrayEquals(new Object[]{1, 2, 30, 35, 4, 5}, listWithData.toArray());
+        assertArrayEquals(new Object[]{2, 30, 35, 4, 5}, outer.toArray());
+        assertArrayEquals(new Object[]{30, 35, 4}, inner.toArray());
+
+        assertEquals(30, inner.remove(0));
+        inner.clear();
+        assertArrayEquals(new Object[]{1, 2, 5}, listWithData.toArray());
+        assertArrayEquals(new Object[]{2, 5}, outer.toArray());
+        assertEquals(0, inner.size());
+
+        listWithData.add(6);
+        try {
+            outer.size();
+            throw new Exception();
+        } catch (Exception e) {
+            assertEquals(java.util.ConcurrentModificationException.class, e.getClass());
+        }
+    }
+
     /**
      * Test of
      * {@link myAdapter.ListAdapter.ListIteratorAdapter})
@@ -967,7 +1292,7 @@ public class ListTest {
             i++;
         }
         assertArrayEquals(new Object[]{5, 4, 3, 2, 1}, arrayList);
-        assertEquals(1, listIterator.nextIndex());
+        assertEquals(0, listIterator.nextIndex());
 
         listIterator.next();
         listIterator.add(0.5);
@@ -0,0 +1,163 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class of {@link myAdapter.MeteredList} and {@link myAdapter.ListMetrics} methods
+ * <p>
+ * <p>
+ * Summary: this class runs all the tests of {@link myTest.ListTest} on a MeteredList that wraps a ListAdapter,
+ * and tests the metrics it records
+ * <br><br>
+ * Design test: the factory methods of ListTest are overridden to create wrapped ListAdapters; in the additional
+ * tests a known sequence of operations is executed and the counters are compared with the expected work
+ * <br><br>
+ * Preconditions: a new empty MeteredList is instantiated before each test
+ * <br><br>
+ * Postconditions: the wrapper behaves like the wrapped list, and the metrics describe the operations executed
+ * <br><br>
+ *
+ * @author Alessandro Marcassa
+ * @see myAdapter.MeteredList
+ * @see myTest.ListTest
+ */
+public class MeteredListTest extends ListTest {
+
+    protected HList newList() {
+        return new MeteredList(new ListAdapter(), new ListMetrics());
+    }
+
+    protected HList newList(HCollection coll) {
+        return new MeteredList(new ListAdapter(coll), new ListMetrics());
+    }
+
+    /**
+     * Test of the counters of {@link myAdapter.ListMetrics}
+     * <p>
+     * <br><br>Summary: operations, scans, grows and shifts are counted
+     * <br><br>Design test: a list with capacity 4 receives 10 appends, then a search, an insert at the head,
+     * a removal through a sublist and a clear; every operation is timed
+     * <br><br>Description: the counters are read after the operations and after reset
+     * <br><br>Preconditions: the Vector grows by doubling its capacity
+     * <br><br>Postconditions: the list is empty
+     * <br><br>Expected results: 10 adds and 2 grows (4 to 8 to 16), 6 + 10 scanned elements, 10 + 8 shifted elements,
+     * and as many latencies as operations; all 0 after reset
+     */
+    @Test
+    public void testCounters() {
+        ListMetrics metrics = new ListMetrics();
+        metrics.setSampleInterval(1);
+        MeteredList list = new MeteredList(new ListAdapter(new Vector(4)), metrics);
+        for (int i = 0; i < 10; i++)
+            list.add(new Integer(i));
+        assertEquals(2, metrics.getArrayGrows());
+        assertEquals(5, list.indexOf(new Integer(5)));
+        assertEquals(-1, list.indexOf("missing"));
+        assertEquals(16, metrics.getScannedElements());
+
+        list.add(0, "head");
+        assertEquals(10, metrics.getShiftedElements());
+        HList sub = list.subList(2, 5);
+        sub.remove(0);
+        assertEquals(18, metrics.getShiftedElements());
+        list.clear();
+
+        long[] counts = metrics.getOperationCounts();
+        String[] names = metrics.getOperationNames();
+        assertEquals("add", names[2]);
+        assertEquals(10, counts[2]);
+        assertEquals(1, counts[3]);
+        assertEquals(1, counts[4]);
+        assertEquals(2, counts[5]);
+        assertEquals(1, counts[6]);
+        assertEquals(15, metrics.getTotalOperations());
+        long sampled = 0;
+        for (int i = 0; i < names.length; i++) {
+            long[] histogram = metrics.latencyHistogram(names[i]);
+            for (int j = 0; j < histogram.length; j++)
+                sampled += histogram[j];
+        }
+        assertEquals(15, sampled);
+
+        metrics.reset();
+        assertEquals(0, metrics.getTotalOperations());
+        assertEquals(0, metrics.getShiftedElements());
+        try {
+            metrics.latencyHistogram("sort");
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Test of the scanned elements of an indexed list
+     * <p>
+     * <br><br>Summary: the searches answered by the index of the list don't count scanned elements
+     * <br><br>Design test: the same searches are done on a list in indexed mode and, after disabling it, on the plain list
+     * <br><br>Description: the scanned elements are read after each group of searches
+     * <br><br>Preconditions: the list contains 10 distinct elements
+     * <br><br>Postconditions: the list is no longer indexed
+     * <br><br>Expected results: 0 scanned elements in indexed mode, then 6 + 10 + 5 as on a plain list
+     */
+    @Test
+    public void testIndexedSearches() {
+        ListMetrics metrics = new ListMetrics();
+        ListAdapter adaptee = new ListAdapter();
+        MeteredList list = new MeteredList(adaptee, metrics);
+        for (int i = 0; i < 10; i++)
+            list.add(new Integer(i));
+        adaptee.setIndexed(true);
+        assertEquals(5, list.indexOf(new Integer(5)));
+        assertEquals(-1, list.indexOf("missing"));
+        assertEquals(5, list.lastIndexOf(new Integer(5)));
+        assertEquals(0, metrics.getScannedElements());
+
+        adaptee.setIndexed(false);
+        assertEquals(5, list.indexOf(new Integer(5)));
+        assertEquals(-1, list.indexOf("missing"));
+        assertEquals(5, list.lastIndexOf(new Integer(5)));
+        assertEquals(21, metrics.getScannedElements());
+    }
+
+    /**
+     * Test of {@link myAdapter.ListMetrics#register(String)}
+     * <p>
+     * <br><br>Summary: the metrics are readable through the platform MBean server
+     * <br><br>Design test: the metrics are registered, the attributes are read by name and the metrics are unregistered
+     * <br><br>Description: the attributes read through JMX are compared with the values of the object
+     * <br><br>Preconditions: no other metrics are registered with the same name
+     * <br><br>Postconditions: the MBean is no longer registered
+     * <br><br>Expected results: the attributes match, a second registration throws IllegalStateException
+     */
+    @Test
+    public void testJmx() throws Exception {
+        ListMetrics metrics = new ListMetrics();
+        MeteredList list = new MeteredList(new ListAdapter(), metrics);
+        list.add("a");
+        list.get(0);
+        ObjectName name = metrics.register("test list");
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            assertEquals(new Long(2), server.getAttribute(name, "TotalOperations"));
+            assertEquals(new Integer(64), server.getAttribute(name, "SampleInterval"));
+            assertArrayEquals(metrics.getOperationCounts(), (long[]) server.getAttribute(name, "OperationCounts"));
+            try {
+                metrics.register("other");
+                fail();
+            } catch (IllegalStateException e) {
+                // expected
+            }
+        } finally {
+            metrics.unregister();
+        }
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    }
+}
@@ -0,0 +1,176 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class of {@link myAdapter.ParallelLists} methods
+ * <p>
+ * <p>
+ * Summary: this class tests that the parallel operations give the same results of the sequential ones
+ * on every kind of list
+ * <br><br>
+ * Design test: the operations are executed on lists large enough to be split in many tasks, backed by an array
+ * (ListAdapter, its sublists and CopyOnWriteList) or read with get (GapList)
+ * <br><br>
+ * Preconditions: a pool of 4 threads is created before the tests
+ * <br><br>
+ * Postconditions: the lists are not modified by the operations
+ * <br><br>
+ * Execution variables:
+ * <br>ForkJoinPool pool - pool that executes the tasks
+ * <br><br>
+ *
+ * @author Alessandro Marcassa
+ * @see myAdapter.ParallelLists
+ */
+public class ParallelListsTest {
+    private static final int SIZE = 100000;
+    private static ForkJoinPool pool;
+
+    /**
+     * Creates the pool before the tests
+     */
+    @BeforeClass
+    public static void createPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    /**
+     * Shuts the pool down after the tests
+     */
+    @AfterClass
+    public static void shutdownPool() {
+        pool.shutdown();
+    }
+
+    /**
+     * Creates a ListAdapter with the integers from 0 to SIZE - 1, in which the multiples of 1000 are replaced by null
+     */
+    private static ListAdapter newList() {
+        ListAdapter list = new ListAdapter(new ArrayVector());
+        for (int i = 0; i < SIZE; i++)
+            list.add(i % 1000 == 0 ? null : new Integer(i));
+        return list;
+    }
+
+    /**
+     * Test of the searches
+     * <p>
+     * <br><br>Summary: indexOf and contains return the same results of the methods of the list
+     * <br><br>Design test: elements at the beginning, in the middle, at the end, absent and null are searched
+     * in a ListAdapter, in one of its sublists, in a CopyOnWriteList and in a GapList
+     * <br><br>Expected results: the parallel results are equal to the sequential ones
+     */
+    @Test
+    public void testSearches() {
+        ListAdapter adapter = newList();
+        HList[] lists = {adapter, adapter.subList(SIZE / 3, SIZE - 10), new CopyOnWriteList(adapter), new GapList(adapter)};
+        Object[] searched = {new Integer(1), new Integer(SIZE / 2 + 1), new Integer(SIZE - 1), new Integer(SIZE + 1), "x", null};
+        for (int l = 0; l < lists.length; l++)
+            for (int s = 0; s < searched.length; s++) {
+                assertEquals(lists[l].indexOf(searched[s]), ParallelLists.indexOf(lists[l], searched[s], pool));
+                assertEquals(lists[l].contains(searched[s]), ParallelLists.contains(lists[l], searched[s], pool));
+            }
+        assertEquals(-1, ParallelLists.indexOf(new ListAdapter(), null, pool));
+        assertEquals(1, ParallelLists.indexOf(adapter, new Integer(1)));
+    }
+
+    /**
+     * Test of the predicates
+     * <p>
+     * <br><br>Summary: count, anyMatch and allMatch evaluate the predicate on all the elements
+     * <br><br>Design test: predicates that hold for no element, for some elements and for all the elements
+     * <br><br>Expected results: the counts and the matches are the expected ones, also on the empty list
+     */
+    @Test
+    public void testPredicates() {
+        ListAdapter list = newList();
+        HPredicate isNull = new HPredicate() {
+            public boolean test(Object obj) {
+                return obj == null;
+            }
+        };
+        HPredicate isEven = new HPredicate() {
+            public boolean test(Object obj) {
+                return obj != null && ((Integer) obj).intValue() % 2 == 0;
+            }
+        };
+        HPredicate isLarge = new HPredicate() {
+            public boolean test(Object obj) {
+                return obj != null && ((Integer) obj).intValue() >= SIZE;
+            }
+        };
+
+        assertEquals(SIZE / 1000, ParallelLists.count(list, isNull, pool));
+        assertEquals(SIZE / 2 - SIZE / 1000, ParallelLists.count(list, isEven, pool));
+        assertEquals(0, ParallelLists.count(list, isLarge, pool));
+        assertTrue(ParallelLists.anyMatch(list, isEven, pool));
+        assertFalse(ParallelLists.anyMatch(list, isLarge, pool));
+        assertFalse(ParallelLists.allMatch(list, isEven, pool));
+        assertTrue(ParallelLists.allMatch(list.subList(1, 1000), new HPredicate() {
+            public boolean test(Object obj) {
+                return obj != null;
+            }
+        }, pool));
+        assertTrue(ParallelLists.allMatch(new ListAdapter(), isLarge, pool));
+        assertFalse(ParallelLists.anyMatch(new ListAdapter(), isNull, pool));
+    }
+
+    /**
+     * Test of forEach
+     * <p>
+     * <br><br>Summary: the action is executed exactly once on every element
+     * <br><br>Design test: the action sums the elements; then an action modifies the list during the operation
+     * <br><br>Expected results: the sum is the expected one, and the modification causes a ConcurrentModificationException
+     */
+    @Test
+    public void testForEach() {
+        final ListAdapter list = newList();
+        final AtomicInteger sum = new AtomicInteger();
+        final AtomicInteger nulls = new AtomicInteger();
+        ParallelLists.forEach(list, new HConsumer() {
+            public void accept(Object obj) {
+                if (obj == null)
+                    nulls.incrementAndGet();
+                else
+                    sum.addAndGet(((Integer) obj).intValue() % 7);
+            }
+        }, pool);
+        int expected = 0;
+        for (int i = 0; i < SIZE; i++)
+            if (i % 1000 != 0)
+                expected += i % 7;
+        assertEquals(expected, sum.get());
+        assertEquals(SIZE / 1000, nulls.get());
+
+        final HList small = new ListAdapter();
+        for (int i = 0; i < 10; i++)
+            small.add(new Integer(i));
+        try {
+            ParallelLists.forEach(small, new HConsumer() {
+                public void accept(Object obj) {
+                    if (((Integer) obj).intValue() == 5)
+                        small.add(obj);
+                }
+            }, pool);
+            fail();
+        } catch (ConcurrentModificationException e) {
+            // expected
+        }
+        try {
+            ParallelLists.count(small, null, pool);
+            fail();
+        } catch (NullPointerException e) {
+            // expected
+        }
+    }
+}
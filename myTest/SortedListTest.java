@@ -0,0 +1,198 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class of {@link myAdapter.SortedList} methods
+ * <p>
+ * <p>
+ * Summary: this class tests that the list stays sorted under every modification, and that the binary searches
+ * give the same results of the linear ones
+ * <br><br>
+ * Design test: the elements are strings ordered by length, so that many distinct elements are equal for the
+ * comparator and the order of the equal elements can be verified; the searches are compared with the ones of a
+ * ListAdapter with the same content
+ * <br><br>
+ * Preconditions: a new empty SortedList ordered by length is instantiated before each test
+ * <br><br>
+ * Postconditions: the list is always sorted, and the equal elements are in insertion order
+ * <br><br>
+ * Execution variables:
+ * <br>SortedList list - list ordered by the length of the strings
+ * <br><br>
+ *
+ * @author Alessandro Marcassa
+ * @see myAdapter.SortedList
+ */
+public class SortedListTest {
+    private static final HComparator BY_LENGTH = new HComparator() {
+        public int compare(Object a, Object b) {
+            return ((String) a).length() - ((String) b).length();
+        }
+    };
+
+    private SortedList list;
+
+    @Before
+    public void setUp() {
+        list = new SortedList(BY_LENGTH);
+    }
+
+    private static void assertSorted(HList list) {
+        for (int i = 1; i < list.size(); i++)
+            assertTrue(BY_LENGTH.compare(list.get(i - 1), list.get(i)) <= 0);
+    }
+
+    /**
+     * Test of {@link myAdapter.SortedList#add(Object)}
+     * <p>
+     * <br><br>Summary: every element is inserted in its position, after the equal ones
+     * <br><br>Design test: strings of different lengths are added in random order
+     * <br><br>Description: the content is compared with the expected order
+     * <br><br>Preconditions: the list is empty
+     * <br><br>Postconditions: the list contains all the elements, sorted
+     * <br><br>Expected results: the strings ordered by length, and in insertion order among the ones of equal length
+     */
+    @Test
+    public void testOrderedInsert() {
+        String[] added = {"ccc", "a", "bb", "dd", "e", "ffff", "ggg", ""};
+        for (int i = 0; i < added.length; i++)
+            assertTrue(list.add(added[i]));
+        assertArrayEquals(new Object[]{"", "a", "e", "bb", "dd", "ccc", "ggg", "ffff"}, list.toArray());
+        assertSame(BY_LENGTH, list.comparator());
+    }
+
+    /**
+     * Test of {@link myAdapter.SortedList#indexOf(Object)}, {@link myAdapter.SortedList#lastIndexOf(Object)} and
+     * {@link myAdapter.SortedList#contains(Object)}
+     * <p>
+     * <br><br>Summary: the binary searches give the same results of the linear searches
+     * <br><br>Design test: 2000 random strings with many duplicates are added to the SortedList, then the SortedList
+     * is copied into a ListAdapter; every string of the alphabet up to length 4 is searched in both
+     * <br><br>Description: the results of the two lists are compared
+     * <br><br>Preconditions: none
+     * <br><br>Postconditions: the lists are not modified
+     * <br><br>Expected results: the same indexes, including -1 for the strings equal for the comparator to some element
+     * but not present
+     */
+    @Test
+    public void testSearches() {
+        Random random = new Random(3);
+        for (int i = 0; i < 2000; i++) {
+            int length = random.nextInt(5);
+            StringBuffer s = new StringBuffer();
+            for (int j = 0; j < length; j++)
+                s.append((char) ('a' + random.nextInt(3)));
+            list.add(s.toString());
+        }
+        assertSorted(list);
+        ListAdapter linear = new ListAdapter(list);
+        String[] probes = {"", "a", "c", "d", "ab", "ca", "abc", "ddd", "cccc", "abca", "abcab"};
+        for (int i = 0; i < probes.length; i++) {
+            assertEquals(probes[i], linear.indexOf(probes[i]), list.indexOf(probes[i]));
+            assertEquals(probes[i], linear.lastIndexOf(probes[i]), list.lastIndexOf(probes[i]));
+            assertEquals(probes[i], linear.contains(probes[i]), list.contains(probes[i]));
+        }
+        assertTrue(list.containsAll(new ListAdapter(list.subList(100, 200))));
+        assertTrue(list.equals(linear));
+    }
+
+    /**
+     * Test of {@link myAdapter.SortedList#addAll(HCollection)}
+     * <p>
+     * <br><br>Summary: the new elements are merged with the list, after the equal elements already present
+     * <br><br>Design test: an unsorted ListAdapter and a SortedList are added to a list that already contains elements
+     * <br><br>Description: the content is compared with the expected order
+     * <br><br>Preconditions: the list contains some elements
+     * <br><br>Postconditions: the list contains all the elements, sorted
+     * <br><br>Expected results: the elements ordered by length, the old ones before the new ones among the equal ones
+     */
+    @Test
+    public void testMergeAddAll() {
+        list.add("bb");
+        list.add("a");
+        list.add("dddd");
+        ListAdapter unsorted = new ListAdapter();
+        unsorted.add("eee");
+        unsorted.add("f");
+        unsorted.add("");
+        unsorted.add("gg");
+        assertTrue(list.addAll(unsorted));
+        assertArrayEquals(new Object[]{"", "a", "f", "bb", "gg", "eee", "dddd"}, list.toArray());
+
+        SortedList other = new SortedList(BY_LENGTH);
+        other.add("hhhhh");
+        other.add("i");
+        assertTrue(list.addAll(other));
+        assertArrayEquals(new Object[]{"", "a", "f", "i", "bb", "gg", "eee", "dddd", "hhhhh"}, list.toArray());
+        assertFalse(list.addAll(new ListAdapter()));
+
+        list.addAll(list);
+        assertEquals(18, list.size());
+        assertSorted(list);
+        assertEquals(list, new SortedList(BY_LENGTH, new ListAdapter(list)));
+    }
+
+    /**
+     * Test of the positional modifications
+     * <p>
+     * <br><br>Summary: set, add(int, Object), addAll(int, HCollection) and the iterator are allowed only where they
+     * keep the list sorted
+     * <br><br>Design test: elements are inserted and replaced in positions that keep the order and in positions that don't
+     * <br><br>Description: the content is verified after every modification
+     * <br><br>Preconditions: the list contains "a", "bb", "ccc"
+     * <br><br>Postconditions: the list is sorted
+     * <br><br>Expected results: the modifications in order succeed, the others throw IllegalArgumentException and
+     * don't modify the list; the removals keep the list sorted
+     */
+    @Test
+    public void testPositionalOrder() {
+        list.add("a");
+        list.add("bb");
+        list.add("ccc");
+        assertEquals("bb", list.set(1, "xx"));
+        list.add(1, "y");
+        HListIterator it = list.listIterator(3);
+        it.add("zz");
+        assertArrayEquals(new Object[]{"a", "y", "xx", "zz", "ccc"}, list.toArray());
+
+        try {
+            list.set(0, "long");
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            list.add(0, "ww");
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        ListAdapter block = new ListAdapter();
+        block.add("qq");
+        block.add("rrr");
+        try {
+            list.addAll(3, block);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals(5, list.size());
+        assertTrue(list.addAll(4, block));
+        assertArrayEquals(new Object[]{"a", "y", "xx", "zz", "qq", "rrr", "ccc"}, list.toArray());
+
+        assertTrue(list.remove("xx"));
+        list.subList(0, 2).clear();
+        block.add("ccc");
+        assertTrue(list.retainAll(block));
+        assertArrayEquals(new Object[]{"qq", "rrr", "ccc"}, list.toArray());
+        list.add("bb");
+        assertArrayEquals(new Object[]{"qq", "bb", "rrr", "ccc"}, list.toArray());
+    }
+}
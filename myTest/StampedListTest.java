@@ -0,0 +1,141 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class of {@link myAdapter.StampedList} methods
+ * <p>
+ * <p>
+ * Summary: this class runs all the tests of {@link myTest.ListTest} on a StampedList that wraps a ListAdapter,
+ * and tests the reads concurrent with the modifications
+ * <br><br>
+ * Design test: the factory methods of ListTest are overridden to create wrapped ListAdapters; in the additional
+ * tests some threads read the list while another one modifies it
+ * <br><br>
+ * Preconditions: a new empty StampedList is instantiated before each test
+ * <br><br>
+ * Postconditions: the wrapper behaves like the wrapped list, and the readers never see a partial modification
+ * <br><br>
+ *
+ * @author Alessandro Marcassa
+ * @see myAdapter.StampedList
+ * @see myTest.ListTest
+ */
+public class StampedListTest extends ListTest {
+    private volatile boolean stop;
+
+    protected HList newList() {
+        return new StampedList(new ListAdapter());
+    }
+
+    protected HList newList(HCollection coll) {
+        return new StampedList(new ListAdapter(coll));
+    }
+
+    /**
+     * Test of the optimistic reads concurrent with the modifications
+     * <p>
+     * <br><br>Summary: get, size, indexOf and contains always return a consistent result while the list is modified
+     * <br><br>Design test: a writer inserts and removes an element at the head of a list of 100 elements,
+     * while four readers search the last element and read the element at the head
+     * <br><br>Expected results: the size is always 100 or 101, the last element is always found at index 99 or 100,
+     * and the head is always one of the two expected elements
+     */
+    @Test
+    public void testConcurrentReads() throws InterruptedException {
+        concurrentReads(new ListAdapter());
+    }
+
+    /**
+     * Test of the optimistic reads concurrent with the modifications of an indexed list
+     * <p>
+     * <br><br>Summary: the searches answered by the index of the wrapped list stay consistent while the list is modified
+     * <br><br>Design test: the same readers and writer of testConcurrentReads run on a ListAdapter in indexed mode,
+     * so the readers extend and rebuild the index while the writer invalidates it
+     * <br><br>Expected results: the same of testConcurrentReads, and at the end the index returns the current positions
+     */
+    @Test
+    public void testConcurrentIndexedReads() throws InterruptedException {
+        ListAdapter indexed = new ListAdapter();
+        indexed.setIndexed(true);
+        concurrentReads(indexed);
+        assertEquals(99, indexed.indexOf(new Integer(99)));
+        assertEquals(-1, indexed.indexOf("head"));
+    }
+
+    /**
+     * Runs four readers of the list while a writer inserts and removes an element at its head
+     *
+     * @param adaptee the empty list to wrap
+     */
+    private void concurrentReads(ListAdapter adaptee) throws InterruptedException {
+        stop = false;
+        final StampedList shared = new StampedList(adaptee);
+        for (int i = 0; i < 100; i++)
+            shared.add(new Integer(i));
+        final Integer last = new Integer(99);
+        final boolean[] failed = new boolean[1];
+
+        Thread[] readers = new Thread[4];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread() {
+                public void run() {
+                    while (!stop) {
+                        int size = shared.size();
+                        int index = shared.indexOf(last);
+                        Object head = shared.get(0);
+                        if ((size != 100 && size != 101) || (index != 99 && index != 100)
+                                || !(head.equals("head") || head.equals(new Integer(0))) || !shared.contains(last))
+                            failed[0] = true;
+                    }
+                }
+            };
+            readers[r].start();
+        }
+        for (int i = 0; i < 20000; i++) {
+            shared.add(0, "head");
+            shared.remove(0);
+        }
+        stop = true;
+        for (int r = 0; r < readers.length; r++)
+            readers[r].join();
+        assertFalse(failed[0]);
+        assertEquals(100, shared.size());
+    }
+
+    /**
+     * Test of the compound operations
+     * <p>
+     * <br><br>Summary: the lock of the list makes an iteration with removals atomic, and the sublists share the lock
+     * <br><br>Design test: the null elements are removed through the iterator while holding the write lock,
+     * then a sublist is cleared
+     * <br><br>Expected results: the list contains only the expected elements and the lock is released
+     */
+    @Test
+    public void testCompoundOperations() {
+        StampedList list = new StampedList(new ListAdapter());
+        for (int i = 0; i < 10; i++)
+            list.add(i % 2 == 0 ? null : new Integer(i));
+        long stamp = list.lock().writeLock();
+        try {
+            HIterator it = list.iterator();
+            while (it.hasNext())
+                if (it.next() == null)
+                    it.remove();
+        } finally {
+            list.lock().unlockWrite(stamp);
+        }
+        assertEquals(5, list.size());
+        assertFalse(list.contains(null));
+
+        HList sub = list.subList(1, 4);
+        assertEquals(3, sub.size());
+        sub.clear();
+        assertArrayEquals(new Object[]{new Integer(1), new Integer(9)}, list.toArray());
+        assertFalse(list.lock().isReadLocked());
+        assertFalse(list.lock().isWriteLocked());
+    }
+}
@@ -33,6 +33,66 @@ public class TestRunner {
 		res = JUnitCore.runClasses(TestList.class);
 		esitoTest(res);
 
+		System.out.println("\nTest of ArrayVector..");
+		res = JUnitCore.runClasses(ArrayVectorTest.class);
+		esitoTest(res);
+
+		System.out.println("\nTest of IntListAdapter..");
+		res = JUnitCore.runClasses(IntListAdapterTest.class);
+		esitoTest(res);
+
+		System.out.println("\nTest of GapList..");
+		res = JUnitCore.runClasses(GapListTest.class);
+		esitoTest(res);
+
+		System.out.println("\nTest of TieredList..");
+		res = JUnitCore.runClasses(TieredListTest.class);
+		esitoTest(res);
+
+		System.out.println("\nTest of SortedList..");
+		res = JUnitCore.runClasses(SortedListTest.class);
+		esitoTest(res);
+
+		System.out.println("\nTest of CopyOnWriteList..");
+		res = JUnitCore.runClasses(CopyOnWriteListTest.class);
+		esitoTest(res);
+
+		System.out.println("\nTest of ConcurrentAppendList..");
+		res = JUnitCore.runClasses(ConcurrentAppendListTest.class);
+		esitoTest(res);
+
+		System.out.println("\nTest of StampedList..");
+		res = JUnitCore.runClasses(StampedListTest.class);
+		esitoTest(res);
+
+		System.out.println("\nTest of ListAdapter in indexed mode..");
+		res = JUnitCore.runClasses(IndexedListTest.class);
+		esitoTest(res);
+
+		System.out.println("\nTest of ListAdapter with capacity policies..");
+		res = JUnitCore.runClasses(CapacityPolicyTest.class);
+		esitoTest(res);
+
+		System.out.println("\nTest of ParallelLists..");
+		res = JUnitCore.runClasses(ParallelListsTest.class);
+		esitoTest(res);
+
+		System.out.println("\nTest of ListSort..");
+		res = JUnitCore.runClasses(ListSortTest.class);
+		esitoTest(res);
+
+		System.out.println("\nTest of ListStreams..");
+		res = JUnitCore.runClasses(ListStreamsTest.class);
+		esitoTest(res);
+
+		System.out.println("\nTest of MeteredList..");
+		res = JUnitCore.runClasses(MeteredListTest.class);
+		esitoTest(res);
+
+		System.out.println("\nTest of allocations per operation of ListAdapter..");
+		res = JUnitCore.runClasses(AllocationBudgetTest.class);
+		esitoTest(res);
+
 		System.out.println("\n*** All the " + totalTests + " tests have been completed +**");
 	}
 
@@ -0,0 +1,101 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class of {@link myAdapter.TieredList} methods
+ * <p>
+ * <p>
+ * Summary: this class runs all the tests of {@link myTest.ListTest} on a TieredList and tests the movement
+ * of the elements across the chunks
+ * <br><br>
+ * Design test: the factory methods of ListTest are overridden to create TieredLists, the additional tests
+ * execute the same random edits on a TieredList and on a ListAdapter, with sizes large enough to change
+ * the size of the chunks
+ * <br><br>
+ * Preconditions: a new empty TieredList is instantiated before each test
+ * <br><br>
+ * Postconditions: the TieredList behaves exactly like a ListAdapter with the same content
+ * <br><br>
+ *
+ * @author Alessandro Marcassa
+ * @see myAdapter.TieredList
+ * @see myTest.ListTest
+ */
+public class TieredListTest extends ListTest {
+
+    protected HList newList() {
+        return new TieredList();
+    }
+
+    protected HList newList(HCollection coll) {
+        return new TieredList(coll);
+    }
+
+    /**
+     * Test of the positional insertions and removals
+     * <p>
+     * <br><br>Summary: add(int, Object) and remove(int) keep the order of the elements in every chunk
+     * <br><br>Design test: the list grows to 5000 elements with insertions in random positions, then
+     * shrinks to 10 elements with removals in random positions; the same edits are executed on a ListAdapter
+     * <br><br>Expected results: after every phase the two lists have the same content and get returns the same elements
+     */
+    @Test
+    public void testRandomEdits() {
+        Random random = new Random(42);
+        HList list = new TieredList();
+        HList expected = new ListAdapter();
+        for (int i = 0; i < 5000; i++) {
+            int index = random.nextInt(list.size() + 1);
+            list.add(index, new Integer(i));
+            expected.add(index, new Integer(i));
+        }
+        assertArrayEquals(expected.toArray(), list.toArray());
+        for (int i = 0; i < expected.size(); i += 97)
+            assertEquals(expected.get(i), list.get(i));
+
+        while (list.size() > 10) {
+            int index = random.nextInt(list.size());
+            assertEquals(expected.remove(index), list.remove(index));
+        }
+        assertArrayEquals(expected.toArray(), list.toArray());
+    }
+
+    /**
+     * Test of the bulk operations
+     * <p>
+     * <br><br>Summary: addAll and the clear of a sublist redistribute the elements without losing their order
+     * <br><br>Design test: a large collection is inserted in the middle of the list, then a large range is removed
+     * <br><br>Expected results: the content is the same of a ListAdapter on which the same operations are executed
+     */
+    @Test
+    public void testBulkEdits() {
+        HList list = new TieredList(100);
+        HList expected = new ListAdapter();
+        HList coll = new ListAdapter();
+        for (int i = 0; i < 100; i++) {
+            list.add(new Integer(i));
+            expected.add(new Integer(i));
+        }
+        for (int i = 0; i < 1000; i++)
+            coll.add("e" + i);
+
+        assertTrue(list.addAll(50, coll));
+        assertTrue(expected.addAll(50, coll));
+        assertArrayEquals(expected.toArray(), list.toArray());
+        assertEquals(expected.lastIndexOf("e999"), list.lastIndexOf("e999"));
+
+        list.subList(10, 900).clear();
+        expected.subList(10, 900).clear();
+        assertArrayEquals(expected.toArray(), list.toArray());
+        list.add(5, "x");
+        expected.add(5, "x");
+        assertEquals(expected.indexOf("x"), list.indexOf("x"));
+        assertArrayEquals(expected.toArray(), list.toArray());
+    }
+}